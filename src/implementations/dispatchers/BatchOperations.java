@@ -0,0 +1,236 @@
+package implementations.dispatchers;
+
+import implementations.tasks.BatchResult;
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.tasks.Transaction;
+import implementations.utility.TaskTypes;
+import interfaces.TaskManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class BatchOperations {
+    private BatchOperations() {
+    }
+
+    static BatchResult create(TaskManager manager, Function<Integer, Task> lookup, Task task) {
+        if (Objects.isNull(task)) {
+            return new BatchResult(null, BatchResult.Status.INVALID);
+        }
+        switch (TaskTypes.of(task)) {
+            case EPIC:
+                return created(manager.createEpic((Epic) task));
+            case SUBTASK:
+                if (!exists(lookup, ((SubTask) task).getEpicID(), TaskTypes.EPIC)) {
+                    return new BatchResult(null, BatchResult.Status.NOT_FOUND);
+                }
+                return created(manager.createSubTask((SubTask) task));
+            default:
+                return created(manager.createTask(task));
+        }
+    }
+
+    static BatchResult update(TaskManager manager, Function<Integer, Task> lookup, Task task) {
+        if (Objects.isNull(task) || Objects.isNull(task.getId())) {
+            return new BatchResult(null, BatchResult.Status.INVALID);
+        }
+        TaskTypes type = TaskTypes.of(task);
+        if (!exists(lookup, task.getId(), type) || (type == TaskTypes.SUBTASK
+                && !exists(lookup, ((SubTask) task).getEpicID(), TaskTypes.EPIC))) {
+            return new BatchResult(task.getId(), BatchResult.Status.NOT_FOUND);
+        }
+        boolean isUpdated;
+        switch (type) {
+            case EPIC:
+                isUpdated = manager.updateEpic((Epic) task);
+                break;
+            case SUBTASK:
+                isUpdated = manager.updateSubTask((SubTask) task);
+                break;
+            default:
+                isUpdated = manager.updateTask(task);
+                break;
+        }
+        return new BatchResult(task.getId(), isUpdated ? BatchResult.Status.UPDATED : BatchResult.Status.OVERLAPPING);
+    }
+
+    /*
+     * One sorted sweep instead of a schedule probe per item: the timed items are ordered by start and merged
+     * with the schedule, which is already in start order. True means no item clashes with the schedule or with
+     * another item, so the batch can be inserted without probing. An update may only overlap its own old slot,
+     * exactly as when it is probed alone.
+     */
+    static boolean isFreeOfOverlaps(List<? extends Task> tasks, Collection<? extends Task> schedule,
+                                    boolean isUpdate) {
+        List<Task> timedTasks = tasks.stream()
+                .filter(task -> Objects.nonNull(task) && task.isReadyForPrioritizing())
+                .sorted(Comparator.comparing(Task::getStartTime))
+                .collect(Collectors.toList());
+        if (timedTasks.isEmpty()) {
+            return true;
+        }
+        List<Task> scheduled = new ArrayList<>(schedule);
+        int next = 0;
+        long batchEnd = Long.MIN_VALUE;
+        for (Task task : timedTasks) {
+            long start = toEpochSecond(task.getStartTime());
+            long end = toEpochSecond(task.getEndTime());
+            if (start < batchEnd) {
+                return false;
+            }
+            while (next < scheduled.size() && toEpochSecond(scheduled.get(next).getEndTime()) <= start) {
+                next++;
+            }
+            for (int i = next; i < scheduled.size() && toEpochSecond(scheduled.get(i).getStartTime()) < end; i++) {
+                if (!isUpdate || !Objects.equals(scheduled.get(i).getId(), task.getId())) {
+                    return false;
+                }
+            }
+            batchEnd = Math.max(batchEnd, end);
+        }
+        return true;
+    }
+
+    // Operations are applied in order; the first failure undoes the applied ones in reverse order.
+    static List<BatchResult> commit(TaskManager manager, Function<Integer, Task> lookup, Consumer<Task> restore,
+                                    Transaction transaction) {
+        List<Transaction.Operation> operations = transaction.getOperations();
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        Deque<Runnable> undoLog = new ArrayDeque<>();
+        try {
+            for (Transaction.Operation operation : operations) {
+                BatchResult result = stage(manager, lookup, restore, operation, undoLog);
+                results.add(result);
+                if (!result.isSuccess()) {
+                    undoLog.forEach(Runnable::run);
+                    return abort(operations, result, results.size() - 1);
+                }
+            }
+        } catch (RuntimeException e) {
+            undoLog.forEach(Runnable::run);
+            throw e;
+        }
+        return results;
+    }
+
+    private static BatchResult stage(TaskManager manager, Function<Integer, Task> lookup, Consumer<Task> restore,
+                                     Transaction.Operation operation, Deque<Runnable> undoLog) {
+        Task task = operation.getTask();
+        switch (operation.getKind()) {
+            case CREATE:
+                BatchResult created = create(manager, lookup, task);
+                if (created.isSuccess()) {
+                    undoLog.push(() -> removeById(manager, TaskTypes.of(task), created.getId()));
+                }
+                return created;
+            case UPDATE:
+                Task replacedTask = Objects.isNull(task) || Objects.isNull(task.getId()) ? null
+                        : lookup.apply(task.getId());
+                BatchResult updated = update(manager, lookup, task);
+                if (updated.isSuccess()) {
+                    undoLog.push(() -> replace(manager, replacedTask));
+                }
+                return updated;
+            default:
+                return remove(manager, lookup, restore, operation.getId(), undoLog);
+        }
+    }
+
+    private static BatchResult remove(TaskManager manager, Function<Integer, Task> lookup, Consumer<Task> restore,
+                                      Integer id, Deque<Runnable> undoLog) {
+        if (Objects.isNull(id)) {
+            return new BatchResult(null, BatchResult.Status.INVALID);
+        }
+        Task task = lookup.apply(id);
+        if (Objects.isNull(task)) {
+            return new BatchResult(id, BatchResult.Status.NOT_FOUND);
+        }
+        List<SubTask> subTasks = TaskTypes.of(task) == TaskTypes.EPIC
+                ? new ArrayList<>(manager.getAllSubTasksFromEpic((Epic) task)) : List.of();
+        removeById(manager, TaskTypes.of(task), id);
+        undoLog.push(() -> {
+            restore.accept(task);
+            subTasks.forEach(restore);
+        });
+        return new BatchResult(id, BatchResult.Status.REMOVED);
+    }
+
+    private static void removeById(TaskManager manager, TaskTypes type, Integer id) {
+        switch (type) {
+            case EPIC:
+                manager.removeEpicById(id);
+                break;
+            case SUBTASK:
+                manager.removeSubTaskById(id);
+                break;
+            default:
+                manager.removeTaskById(id);
+                break;
+        }
+    }
+
+    private static void replace(TaskManager manager, Task task) {
+        switch (TaskTypes.of(task)) {
+            case EPIC:
+                manager.updateEpic((Epic) task);
+                break;
+            case SUBTASK:
+                manager.updateSubTask((SubTask) task);
+                break;
+            default:
+                manager.updateTask(task);
+                break;
+        }
+    }
+
+    private static List<BatchResult> abort(List<Transaction.Operation> operations, BatchResult failure,
+                                           int failedIndex) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(i == failedIndex ? failure
+                    : new BatchResult(targetIdOf(operations.get(i)), BatchResult.Status.ABORTED));
+        }
+        return results;
+    }
+
+    private static Integer targetIdOf(Transaction.Operation operation) {
+        switch (operation.getKind()) {
+            case UPDATE:
+                return Objects.isNull(operation.getTask()) ? null : operation.getTask().getId();
+            case REMOVE:
+                return operation.getId();
+            default:
+                return null;
+        }
+    }
+
+    private static BatchResult created(Optional<? extends Task> task) {
+        return task.map(createdTask -> new BatchResult(createdTask.getId(), BatchResult.Status.CREATED))
+                .orElseGet(() -> new BatchResult(null, BatchResult.Status.OVERLAPPING));
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static boolean exists(Function<Integer, Task> lookup, Integer id, TaskTypes type) {
+        if (Objects.isNull(id)) {
+            return false;
+        }
+        Task task = lookup.apply(id);
+        return Objects.nonNull(task) && TaskTypes.of(task) == type;
+    }
+}
@@ -0,0 +1,75 @@
+package implementations.dispatchers;
+
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.IntervalTree;
+import implementations.utility.VersionedIntMap;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class BoardSnapshot {
+    private final long version;
+    private final VersionedIntMap<Task> tasks;
+    private final VersionedIntMap<Epic> epics;
+    private final VersionedIntMap<SubTask> subTasks;
+    private final IntervalTree<Task> prioritizedTasks;
+
+    BoardSnapshot(long version, VersionedIntMap<Task> tasks, VersionedIntMap<Epic> epics,
+                  VersionedIntMap<SubTask> subTasks, IntervalTree<Task> prioritizedTasks) {
+        this.version = version;
+        this.tasks = tasks;
+        this.epics = epics;
+        this.subTasks = subTasks;
+        this.prioritizedTasks = prioritizedTasks;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Task getTask(int id) {
+        return tasks.get(id);
+    }
+
+    public Epic getEpic(int id) {
+        return epics.get(id);
+    }
+
+    public SubTask getSubTask(int id) {
+        return subTasks.get(id);
+    }
+
+    public List<Task> getAllTasks() {
+        return tasks.values();
+    }
+
+    public List<Epic> getAllEpics() {
+        return epics.values();
+    }
+
+    public List<SubTask> getAllSubTasks() {
+        return subTasks.values();
+    }
+
+    public List<Task> getPrioritizedTasks() {
+        return prioritizedTasks.values();
+    }
+
+    public void forEachTask(Consumer<? super Task> action) {
+        tasks.forEach(action);
+    }
+
+    public void forEachEpic(Consumer<? super Epic> action) {
+        epics.forEach(action);
+    }
+
+    public void forEachSubTask(Consumer<? super SubTask> action) {
+        subTasks.forEach(action);
+    }
+
+    public int size() {
+        return tasks.size() + epics.size() + subTasks.size();
+    }
+}
@@ -0,0 +1,345 @@
+package implementations.dispatchers;
+
+import implementations.storage.ChangeEvent;
+import implementations.storage.InMemoryStorageEngine;
+import implementations.tasks.BatchResult;
+import implementations.tasks.Epic;
+import implementations.tasks.Query;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
+import implementations.tasks.Transaction;
+import implementations.utility.EventRing;
+import implementations.utility.State;
+import interfaces.StorageEngine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/*
+ * InMemoryTaskManager behind one read-write lock; everything else, indexes included, is shared with it.
+ * Pure reads share the read lock. Writes, lookups by id (they record history and publish VIEWED), history
+ * reads (the history view is cached lazily) and snapshots take the write lock.
+ * Stored epics are updated in place by later subtask writes, so every epic handed out here is a copy made
+ * under the lock. An epic passed in by the caller stays live, as in InMemoryTaskManager; it is only safe to
+ * read from the thread that wrote it.
+ */
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Task> historyView;
+    private List<Task> copiedHistoryView;
+    private long copiedHistoryVersion;
+
+    public ConcurrentTaskManager() {
+        this(new InMemoryStorageEngine());
+    }
+
+    public ConcurrentTaskManager(StorageEngine storageEngine) {
+        super(storageEngine);
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return write(super::snapshot);
+    }
+
+    @Override
+    public void close() {
+        write(() -> {
+            super.close();
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Task> createTask(Task task) {
+        return write(() -> super.createTask(task));
+    }
+
+    @Override
+    public boolean updateTask(Task task) {
+        return write(() -> super.updateTask(task));
+    }
+
+    @Override
+    public List<BatchResult> createAll(List<? extends Task> tasks) {
+        return write(() -> super.createAll(tasks));
+    }
+
+    @Override
+    public List<BatchResult> updateAll(List<? extends Task> tasks) {
+        return write(() -> super.updateAll(tasks));
+    }
+
+    @Override
+    public List<BatchResult> commit(Transaction transaction) {
+        return write(() -> super.commit(transaction));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(int id) {
+        return write(() -> super.getTaskById(id));
+    }
+
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        return read(super::getAllTasks);
+    }
+
+    @Override
+    public Collection<Task> viewAllTasks() {
+        return read(super::viewAllTasks);
+    }
+
+    @Override
+    public List<Task> getTasksByState(State state) {
+        return read(() -> super.getTasksByState(state));
+    }
+
+    @Override
+    public List<Task> getTasksAfter(int after, int limit) {
+        return read(() -> super.getTasksAfter(after, limit));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        write(() -> {
+            super.removeAllTasks();
+            return null;
+        });
+    }
+
+    @Override
+    public Task removeTaskById(Integer id) {
+        return write(() -> super.removeTaskById(id));
+    }
+
+    @Override
+    public Optional<Epic> createEpic(Epic epic) {
+        return write(() -> super.createEpic(epic));
+    }
+
+    @Override
+    public boolean updateEpic(Epic epic) {
+        return write(() -> super.updateEpic(epic));
+    }
+
+    @Override
+    public Optional<Epic> getEpicById(Integer id) {
+        return write(() -> super.getEpicById(id), epic -> epic.map(Epic::copy));
+    }
+
+    @Override
+    public ArrayList<Epic> getAllEpics() {
+        return read(super::getAllEpics, ConcurrentTaskManager::copyEpics);
+    }
+
+    // Copies instead of the O(1) frozen view: the view would still reach the live epics.
+    @Override
+    public Collection<Epic> viewAllEpics() {
+        return read(super::viewAllEpics, ConcurrentTaskManager::copyEpics);
+    }
+
+    @Override
+    public List<Epic> getEpicsByState(State state) {
+        return read(() -> super.getEpicsByState(state), ConcurrentTaskManager::copyEpics);
+    }
+
+    @Override
+    public List<Epic> getEpicsAfter(int after, int limit) {
+        return read(() -> super.getEpicsAfter(after, limit), ConcurrentTaskManager::copyEpics);
+    }
+
+    @Override
+    public void removeAllEpics() {
+        write(() -> {
+            super.removeAllEpics();
+            return null;
+        });
+    }
+
+    @Override
+    public Epic removeEpicById(Integer id) {
+        return write(() -> super.removeEpicById(id));
+    }
+
+    // A copy handed out earlier has a frozen subtask list, so the stored epic is asked instead when there is one.
+    @Override
+    public List<SubTask> getAllSubTasksFromEpic(Epic epic) {
+        return read(() -> {
+            Task storedEpic = Objects.isNull(epic) ? null : findById(epic.getId());
+            return super.getAllSubTasksFromEpic(storedEpic instanceof Epic ? (Epic) storedEpic : epic);
+        });
+    }
+
+    @Override
+    public Optional<SubTask> createSubTask(SubTask subTask) {
+        return write(() -> super.createSubTask(subTask));
+    }
+
+    @Override
+    public boolean updateSubTask(SubTask subTask) {
+        return write(() -> super.updateSubTask(subTask));
+    }
+
+    @Override
+    public Optional<SubTask> getSubTaskById(Integer id) {
+        return write(() -> super.getSubTaskById(id));
+    }
+
+    @Override
+    public ArrayList<SubTask> getAllSubTasks() {
+        return read(super::getAllSubTasks);
+    }
+
+    @Override
+    public Collection<SubTask> viewAllSubTasks() {
+        return read(super::viewAllSubTasks);
+    }
+
+    @Override
+    public List<SubTask> getSubTasksByState(State state) {
+        return read(() -> super.getSubTasksByState(state));
+    }
+
+    @Override
+    public List<SubTask> getSubTasksAfter(int after, int limit) {
+        return read(() -> super.getSubTasksAfter(after, limit));
+    }
+
+    @Override
+    public SubTask removeSubTaskById(Integer id) {
+        return write(() -> super.removeSubTaskById(id));
+    }
+
+    @Override
+    public void removeAllSubTasks() {
+        write(() -> {
+            super.removeAllSubTasks();
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> getHistoryManager() {
+        return write(super::getHistoryManager, ConcurrentTaskManager::copyEpicsIn);
+    }
+
+    // Reused until the history or any task changes, like the view it copies.
+    @Override
+    public List<Task> viewHistory() {
+        return write(() -> {
+            List<Task> view = super.viewHistory();
+            if (view != historyView || copiedHistoryVersion != getVersion()) {
+                historyView = view;
+                copiedHistoryView = Collections.unmodifiableList(copyEpicsIn(view));
+                copiedHistoryVersion = getVersion();
+            }
+            return copiedHistoryView;
+        });
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(super::getPrioritizedTasks);
+    }
+
+    @Override
+    public Collection<Task> viewPrioritizedTasks() {
+        return read(super::viewPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return read(() -> super.search(query, limit), ConcurrentTaskManager::copyEpicsIn);
+    }
+
+    @Override
+    public List<Task> query(Query query) {
+        return read(() -> super.query(query), ConcurrentTaskManager::copyEpicsIn);
+    }
+
+    @Override
+    public <R> List<R> query(Query query, Function<? super Task, ? extends R> projection) {
+        return read(() -> super.query(query, task -> projection.apply(copyIfEpic(task))));
+    }
+
+    @Override
+    public List<TimeSlot> getFreeSlots(LocalDateTime from, LocalDateTime to, long minDuration) {
+        return read(() -> super.getFreeSlots(from, to, minDuration));
+    }
+
+    @Override
+    public EventRing.Subscription<ChangeEvent> subscribe(EventRing.Listener<? super ChangeEvent> listener) {
+        return write(() -> super.subscribe(listener));
+    }
+
+    @Override
+    public List<Task> getOverlappingTasks(Task task) {
+        return read(() -> super.getOverlappingTasks(task));
+    }
+
+    @Override
+    public void removeFromPrioritized(Task task) {
+        write(() -> {
+            super.removeFromPrioritized(task);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean validateTaskOnOverlapping(Task task) {
+        return write(() -> super.validateTaskOnOverlapping(task));
+    }
+
+    private <R> R read(Supplier<R> action) {
+        return read(action, UnaryOperator.identity());
+    }
+
+    private <R> R read(Supplier<R> action, UnaryOperator<R> detach) {
+        return locked(lock.readLock(), action, detach);
+    }
+
+    private <R> R write(Supplier<R> action) {
+        return write(action, UnaryOperator.identity());
+    }
+
+    private <R> R write(Supplier<R> action, UnaryOperator<R> detach) {
+        return locked(lock.writeLock(), action, detach);
+    }
+
+    // Storage engines call back while a write holds the lock; they get the stored objects without copying.
+    private <R> R locked(Lock heldLock, Supplier<R> action, UnaryOperator<R> detach) {
+        boolean isCallback = lock.isWriteLockedByCurrentThread();
+        heldLock.lock();
+        try {
+            R result = action.get();
+            return isCallback ? result : detach.apply(result);
+        } finally {
+            heldLock.unlock();
+        }
+    }
+
+    private static ArrayList<Epic> copyEpics(Collection<Epic> epics) {
+        return epics.stream().map(Epic::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static List<Task> copyEpicsIn(List<Task> tasks) {
+        return tasks.stream().map(ConcurrentTaskManager::copyIfEpic).collect(Collectors.toList());
+    }
+
+    private static Task copyIfEpic(Task task) {
+        return task instanceof Epic ? ((Epic) task).copy() : task;
+    }
+}
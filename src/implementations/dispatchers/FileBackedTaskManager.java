@@ -1,257 +1,108 @@
 package implementations.dispatchers;
 
 import implementations.Main;
+import implementations.storage.BinarySnapshotStorageEngine;
+import implementations.storage.CsvStorageEngine;
+import implementations.storage.FsyncPolicy;
+import implementations.storage.JournalStorageEngine;
+import implementations.storage.TaskCsvCodec;
 import implementations.tasks.Epic;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
-import implementations.utility.ManagerSaveException;
 import implementations.utility.State;
 import implementations.utility.TaskTypes;
 import interfaces.HistoryManager;
+import interfaces.StorageEngine;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Random;
 
 public class FileBackedTaskManager extends InMemoryTaskManager {
     private static final String DELIMITER_NEW_LINE = "\n";
-    private static final String DELIMITER_COMMA = ",";
-    private final Path dataFile;
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
     public static FileBackedTaskManager loadFromFile(Path dataFile) {
-        FileBackedTaskManager fileBackedTaskManager = new FileBackedTaskManager(dataFile);
-        LinkedList<String> readLinesFromFile = new LinkedList<>();
-        try (BufferedReader bufferedReader = new BufferedReader(
-                new FileReader(dataFile.toString(), StandardCharsets.UTF_8))) {
-            if (bufferedReader.ready()) {
-                bufferedReader.readLine();
-            }
-            while (bufferedReader.ready()) {
-                readLinesFromFile.add(bufferedReader.readLine());
-            }
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        }
+        return loadFromFile(dataFile, FsyncPolicy.osManaged());
+    }
 
-        String historyLine = readLinesFromFile.pollLast();
+    public static FileBackedTaskManager loadFromFile(Path dataFile, FsyncPolicy fsyncPolicy) {
+        return new FileBackedTaskManager(new CsvStorageEngine(dataFile, fsyncPolicy));
+    }
 
-        readLinesFromFile.stream().filter(lineFromFile -> !lineFromFile.isEmpty())
-                .forEach(fileBackedTaskManager::taskFromString);
+    public static FileBackedTaskManager loadFromJournal(Path journalFile) {
+        return loadFromJournal(journalFile, FsyncPolicy.osManaged());
+    }
 
-        if (Objects.nonNull(historyLine)) {
-            historyFromString(historyLine).stream()
-                    .peek(fileBackedTaskManager::getTaskById)
-                    .peek(fileBackedTaskManager::getEpicById)
-                    .forEach(fileBackedTaskManager::getSubTaskById);
-        }
-        return fileBackedTaskManager;
+    public static FileBackedTaskManager loadFromJournal(Path journalFile, FsyncPolicy fsyncPolicy) {
+        return new FileBackedTaskManager(new JournalStorageEngine(journalFile, fsyncPolicy));
     }
 
-    static String historyToString(HistoryManager historyManager) {
-        return historyManager.getHistory().stream()
-                .map(Task::getId)
-                .map(String::valueOf)
-                .collect(Collectors.joining(DELIMITER_COMMA));
+    public static FileBackedTaskManager loadFromJournal(Path journalFile, FsyncPolicy fsyncPolicy,
+                                                        int maxRecords, long maxSize) {
+        return new FileBackedTaskManager(new JournalStorageEngine(journalFile, fsyncPolicy, maxRecords, maxSize));
     }
 
-    static List<Integer> historyFromString(String value) {
-        return Arrays.stream(value.split(DELIMITER_COMMA))
-                .filter(element -> !element.isBlank())
-                .map(Integer::parseInt)
-                .collect(Collectors.toList());
+    public static FileBackedTaskManager loadFromSnapshot(Path snapshotFile) {
+        return loadFromSnapshot(snapshotFile, FsyncPolicy.osManaged());
     }
 
-    private FileBackedTaskManager(Path dataFile) {
-        this.dataFile = dataFile;
+    public static FileBackedTaskManager loadFromSnapshot(Path snapshotFile, FsyncPolicy fsyncPolicy) {
+        return new FileBackedTaskManager(new BinarySnapshotStorageEngine(snapshotFile, fsyncPolicy));
     }
 
-    private void save() {
-        try (BufferedWriter bufferedWriter = new BufferedWriter(
-                new FileWriter(dataFile.toString(), StandardCharsets.UTF_8))) {
-            bufferedWriter.write(toString());
-        } catch (IOException e) {
-            throw new ManagerSaveException();
-        }
+    static String historyToString(HistoryManager historyManager) {
+        return CsvStorageEngine.historyToString(historyManager.getHistory());
     }
 
-    public void taskFromString(String row) {
-        String[] arguments = row.split(DELIMITER_COMMA);
-        TaskTypes type = TaskTypes.valueOf(arguments[1]);
-        TASK_COUNTER = Math.max(TASK_COUNTER, Integer.parseInt(arguments[0]) + 1);
+    static List<Integer> historyFromString(String value) {
+        return CsvStorageEngine.historyFromString(value);
+    }
+
+    public FileBackedTaskManager(StorageEngine storageEngine) {
+        super(storageEngine);
+    }
 
-        switch (type) {
+    public void taskFromString(String row) {
+        Task task = TaskCsvCodec.forCurrentThread().decode(row);
+        idAllocator.advancePast(task.getId());
+        switch (TaskTypes.of(task)) {
             case TASK:
-                putTaskInStorage(new Task(Integer.parseInt(arguments[0]), arguments[2], arguments[4],
-                        State.valueOf(arguments[3]), parseStringToDate(arguments[5]), parseStringToLong(arguments[6])));
+                putTaskInStorage(task);
                 break;
             case EPIC:
-                putEpicInStorage(new Epic(Integer.parseInt(arguments[0]), arguments[2], arguments[4]));
+                putEpicInStorage((Epic) task);
                 break;
             case SUBTASK:
-                putSubTaskInStorage(new SubTask(
-                        Integer.valueOf(arguments[0]), Integer.valueOf(arguments[5]), arguments[2], arguments[4],
-                        State.valueOf(arguments[3]), parseStringToDate(arguments[6]), parseStringToLong(arguments[7])));
+                putSubTaskInStorage((SubTask) task);
                 break;
         }
     }
 
     public String toString(Task task) {
-        return String.format("%d,%s,%s,%s,%s,%s,%s", task.getId(), TaskTypes.TASK, task.getName(), task.getState(),
-                task.getDescription(), parseDateToString(task), task.getDuration());
+        return TaskCsvCodec.forCurrentThread().encode(task, new StringBuilder()).toString();
     }
 
     public String toString(Epic epic) {
-        return String.format("%d,%s,%s,%s,%s,%s,%s", epic.getId(), TaskTypes.EPIC, epic.getName(), epic.getState(),
-                epic.getDescription(), parseDateToString(epic), epic.getDuration());
+        return toString((Task) epic);
     }
 
     public String toString(SubTask subTask) {
-        return String.format("%d,%s,%s,%s,%s,%d,%s,%s", subTask.getId(), TaskTypes.SUBTASK, subTask.getName(),
-                subTask.getState(), subTask.getDescription(), subTask.getEpicID(),
-                parseDateToString(subTask), subTask.getDuration());
+        return toString((Task) subTask);
     }
 
     @Override
     public String toString() {
-        List<String> elements = new ArrayList<>(Collections.singletonList("id,type,name,status,description,epic"));
-
-        getAllTasks().stream().map(this::toString).forEach(elements::add);
-        getAllEpics().stream().map(this::toString).forEach(elements::add);
-        getAllSubTasks().stream().map(this::toString).forEach(elements::add);
-
-        return String.format("%s%n%n%s", String.join(DELIMITER_NEW_LINE, elements), historyToString(historyManager));
-    }
+        TaskCsvCodec codec = TaskCsvCodec.forCurrentThread();
+        StringBuilder builder = new StringBuilder(CsvStorageEngine.HEAD);
 
-    public String parseDateToString(Task task) {
-        if (task.getStartTime() != null) {
-            return task.getStartTime().format(formatter);
-        } else {
-            return "null";
-        }
-    }
-
-    public LocalDateTime parseStringToDate(String date) {
-        if (!date.equals("null")) {
-            return LocalDateTime.parse(date, formatter);
-        } else {
-            return null;
-        }
-    }
-
-    public Long parseStringToLong(String duration) {
-        if (!duration.equals("null")) {
-            return Long.parseLong(duration);
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public Optional<Task> createTask(Task task) {
-        Optional<Task> optionalTask = super.createTask(task);
-        save();
-        return optionalTask;
-    }
-
-    @Override
-    public boolean updateTask(Task task) {
-        boolean isTaskUpdated = super.updateTask(task);
-        save();
-        return isTaskUpdated;
-    }
-
-    @Override
-    public Optional<Task> getTaskById(int id) {
-        Optional<Task> task = super.getTaskById(id);
-        save();
-        return task;
-    }
+        getAllTasks().forEach(task -> codec.encode(task, builder.append(DELIMITER_NEW_LINE)));
+        getAllEpics().forEach(epic -> codec.encode(epic, builder.append(DELIMITER_NEW_LINE)));
+        getAllSubTasks().forEach(subTask -> codec.encode(subTask, builder.append(DELIMITER_NEW_LINE)));
 
-    @Override
-    public void removeAllTasks() {
-        super.removeAllTasks();
-        save();
-    }
-
-    @Override
-    public Task removeTaskById(Integer id) {
-        Task task = super.removeTaskById(id);
-        save();
-        return task;
-    }
-
-    @Override
-    public Optional<Epic> createEpic(Epic epic) {
-        Optional<Epic> optionalEpic = super.createEpic(epic);
-        save();
-        return optionalEpic;
-    }
-
-    @Override
-    public boolean updateEpic(Epic epic) {
-        boolean isEpicUpdated = super.updateEpic(epic);
-        save();
-        return isEpicUpdated;
-    }
-
-    @Override
-    public Optional<Epic> getEpicById(Integer id) {
-        Optional<Epic> epic = super.getEpicById(id);
-        save();
-        return epic;
-    }
-
-    @Override
-    public void removeAllEpics() {
-        super.removeAllEpics();
-        save();
-    }
-
-    @Override
-    public Epic removeEpicById(Integer id) {
-        Epic epic = super.removeEpicById(id);
-        save();
-        return epic;
-    }
-
-    @Override
-    public Optional<SubTask> createSubTask(SubTask subTask) {
-        Optional<SubTask> optionalSubTask = super.createSubTask(subTask);
-        save();
-        return optionalSubTask;
-    }
-
-    @Override
-    public boolean updateSubTask(SubTask subTask) {
-        boolean isSubTaskUpdated = super.updateSubTask(subTask);
-        save();
-        return isSubTaskUpdated;
-    }
-
-    @Override
-    public SubTask removeSubTaskById(Integer id) {
-        SubTask subTask = super.removeSubTaskById(id);
-        save();
-        return subTask;
-    }
-
-    @Override
-    public Optional<SubTask> getSubTaskById(Integer id) {
-        Optional<SubTask> subTask = super.getSubTaskById(id);
-        save();
-        return subTask;
-    }
-
-    @Override
-    public void removeAllSubTasks() {
-        super.removeAllSubTasks();
-        save();
+        return builder.append(System.lineSeparator()).append(System.lineSeparator())
+                .append(historyToString(historyManager)).toString();
     }
 
     public static void main(String[] args) {
@@ -1,18 +1,22 @@
 package implementations.dispatchers;
 
 import implementations.tasks.Task;
+import implementations.utility.IntObjectHashMap;
 import interfaces.HistoryManager;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 public class InMemoryHistoryManager implements HistoryManager {
-    private final HashMap<Integer, Node> taskIndexes = new HashMap<>();
+    private final IntObjectHashMap<Node> taskIndexes = new IntObjectHashMap<>();
     private Node first;
     private Node last;
     private int size;
+    // Rebuilt on the first read after a change, so repeated reads of an unchanged history share one list.
+    private List<Task> view;
 
     @Override
     public void addTask(Task task) {
@@ -23,13 +27,12 @@ public class InMemoryHistoryManager implements HistoryManager {
 
     private void updateSize() {
         size = taskIndexes.size();
+        view = null;
     }
 
     private void linkLast(Task task) {
         Node element = new Node(task);
-        if (taskIndexes.containsKey(task.getId())) {
-            removeNode(task.getId());
-        }
+        removeNode(task.getId());
         taskIndexes.put(task.getId(), element);
         if (size == 0) {
             first = last = element;
@@ -46,8 +49,21 @@ public class InMemoryHistoryManager implements HistoryManager {
         removeNode(id);
     }
 
+    // One walk over the history, however many of its entries match.
+    @Override
+    public void removeIf(Predicate<? super Task> filter) {
+        Node node = first;
+        while (node != null) {
+            Node next = node.getNext();
+            if (filter.test(node.getValue())) {
+                removeNode(node.getValue().getId());
+            }
+            node = next;
+        }
+    }
+
     private void removeNode(Integer id) {
-        Node element = taskIndexes.get(id);
+        Node element = Objects.isNull(id) ? null : taskIndexes.remove(id);
         if (!Objects.isNull(element)) {
             if (size == 1) {
                 first = last = null;
@@ -57,7 +73,6 @@ public class InMemoryHistoryManager implements HistoryManager {
                 removeCurrentFromNext(next, previous);
                 removeCurrentFromPrevious(next, previous);
             }
-            taskIndexes.remove(id);
             updateSize();
         }
     }
@@ -104,7 +119,15 @@ public class InMemoryHistoryManager implements HistoryManager {
 
     @Override
     public List<Task> getHistory() {
-        return getTasks();
+        return new ArrayList<>(viewHistory());
+    }
+
+    @Override
+    public List<Task> viewHistory() {
+        if (Objects.isNull(view)) {
+            view = Collections.unmodifiableList(getTasks());
+        }
+        return view;
     }
 
     private static class Node {
@@ -1,38 +1,171 @@
 package implementations.dispatchers;
 
+import implementations.storage.Board;
+import implementations.storage.ChangeEvent;
+import implementations.storage.InMemoryStorageEngine;
+import implementations.tasks.BatchResult;
 import implementations.tasks.Epic;
+import implementations.tasks.Query;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
+import implementations.tasks.Transaction;
+import implementations.utility.VersionedIntMap;
+import implementations.utility.EventRing;
+import implementations.utility.IdAllocator;
+import implementations.utility.IntervalTree;
 import implementations.utility.Managers;
+import implementations.utility.SearchIndex;
+import implementations.utility.State;
+import implementations.utility.StateIndex;
+import implementations.utility.TaskTypes;
 import interfaces.HistoryManager;
+import interfaces.StorageEngine;
 import interfaces.TaskManager;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class InMemoryTaskManager implements TaskManager {
-    public static int TASK_COUNTER;
-    private final HashMap<Integer, Task> taskHashMap;
-    private final HashMap<Integer, SubTask> subTaskHashMap;
-    private final HashMap<Integer, Epic> epicHashMap;
-    private final TreeSet<Task> prioritizedTasks;
+    private static final int CHANGE_RING_CAPACITY = 1 << 16;
+    private final VersionedIntMap<Task> taskHashMap;
+    private final VersionedIntMap<SubTask> subTaskHashMap;
+    private final VersionedIntMap<Epic> epicHashMap;
+    // Live epics are updated in place, so snapshots hold copies refreshed for the epics changed since the last one.
+    private final VersionedIntMap<Epic> frozenEpics = new VersionedIntMap<>();
+    private final Set<Integer> staleEpicIds = new HashSet<>();
+    private boolean areAllEpicsStale = true;
+    private final IntervalTree<Task> prioritizedTasks;
+    private final StateIndex taskStates = new StateIndex();
+    private final StateIndex subTaskStates = new StateIndex();
+    private final StateIndex epicStates = new StateIndex();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final EventRing<ChangeEvent> changes = new EventRing<>(CHANGE_RING_CAPACITY);
     protected final HistoryManager historyManager = Managers.getDefaultHistory();
+    private final StorageEngine storageEngine;
+    protected final IdAllocator idAllocator;
+    private long version;
+    private List<ChangeEvent> pendingEvents;
+    private Set<Integer> pendingEpicIds;
+    // Set while a batch the sweep has already proven free of overlaps is applied.
+    private boolean isScheduleChecked;
 
-    private static int generateId() {
-        return TASK_COUNTER++;
+    private int generateId() {
+        return idAllocator.allocate();
     }
 
     public InMemoryTaskManager() {
-        taskHashMap = new HashMap<>();
-        subTaskHashMap = new HashMap<>();
-        epicHashMap = new HashMap<>();
-        prioritizedTasks = new TreeSet<>();
+        this(new InMemoryStorageEngine());
+    }
+
+    public InMemoryTaskManager(StorageEngine storageEngine) {
+        taskHashMap = new VersionedIntMap<>();
+        subTaskHashMap = new VersionedIntMap<>();
+        epicHashMap = new VersionedIntMap<>();
+        prioritizedTasks = new IntervalTree<>();
+        this.storageEngine = storageEngine;
+        Board board = storageEngine.load();
+        idAllocator = new IdAllocator(board.getNextId(), storageEngine::reserveIds);
+        restore(board);
+    }
+
+    private void restore(Board board) {
+        putAllInStorage(board.getTasks());
+        board.getHistory().stream().map(this::findById).filter(Objects::nonNull).forEach(historyManager::addTask);
+    }
+
+    private void publish(ChangeEvent event) {
+        if (event.getKind() != ChangeEvent.Kind.VIEWED) {
+            version++;
+            markStaleEpics(event);
+        }
+        if (Objects.nonNull(pendingEvents)) {
+            pendingEvents.add(event);
+        } else {
+            storageEngine.apply(event, this);
+            changes.publish(event);
+        }
+    }
+
+    // Taken on the writing thread; the result is immutable and can then be read from any thread.
+    public BoardSnapshot snapshot() {
+        refreshFrozenEpics();
+        return new BoardSnapshot(version, taskHashMap.snapshot(), frozenEpics.snapshot(), subTaskHashMap.snapshot(),
+                prioritizedTasks.snapshot());
+    }
+
+    private void markStaleEpics(ChangeEvent event) {
+        switch (event.getType()) {
+            case EPIC:
+                if (event.getKind() == ChangeEvent.Kind.CLEARED) {
+                    areAllEpicsStale = true;
+                } else {
+                    staleEpicIds.add(event.getId());
+                }
+                break;
+            case SUBTASK:
+                if (event.getKind() == ChangeEvent.Kind.CLEARED) {
+                    areAllEpicsStale = true;
+                } else {
+                    Stream.of(event.getBefore(), event.getAfter()).filter(Objects::nonNull)
+                            .forEach(subTask -> staleEpicIds.add(((SubTask) subTask).getEpicID()));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void refreshFrozenEpics() {
+        if (areAllEpicsStale) {
+            frozenEpics.clear();
+            epicHashMap.forEach(epic -> frozenEpics.put(epic.getId(), epic.copy()));
+        } else {
+            for (Integer id : staleEpicIds) {
+                Epic epic = epicHashMap.get(id);
+                if (Objects.isNull(epic)) {
+                    frozenEpics.remove(id);
+                } else {
+                    frozenEpics.put(id, epic.copy());
+                }
+            }
+        }
+        areAllEpicsStale = false;
+        staleEpicIds.clear();
+    }
+
+    protected long getVersion() {
+        return version;
+    }
+
+    public void close() {
+        changes.close();
+        storageEngine.close();
+    }
+
+    protected Task findById(Integer id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        Task task = taskHashMap.get(id);
+        if (Objects.isNull(task)) {
+            task = epicHashMap.get(id);
+        }
+        if (Objects.isNull(task)) {
+            task = subTaskHashMap.get(id);
+        }
+        return task;
     }
 
     protected Optional<Task> putTaskInStorage(Task task) {
         if (task != null && validateTaskOnOverlapping(task)) {
             taskHashMap.put(task.getId(), task);
+            taskStates.put(task.getId(), task.getState());
+            indexText(task);
             return Optional.of(task);
         } else {
             return Optional.empty();
@@ -42,28 +175,111 @@ public class InMemoryTaskManager implements TaskManager {
     @Override
     public Optional<Task> createTask(Task task) {
         task.setId(generateId());
-        return putTaskInStorage(task);
+        Optional<Task> optionalTask = putTaskInStorage(task);
+        optionalTask.ifPresent(createdTask -> publish(ChangeEvent.created(createdTask)));
+        return optionalTask;
     }
 
     @Override
     public boolean updateTask(Task task) {
-        if (taskHashMap.containsKey(task.getId())) {
-            Task removedTask = removeTaskById(task.getId());
-            Optional<Task> optionalTask = putTaskInStorage(task);
-            if (optionalTask.isEmpty()) {
-                putTaskInStorage(removedTask);
-                return false;
-            }
+        if (Objects.nonNull(task.getId()) && taskHashMap.containsKey(task.getId()) && reschedule(task)) {
+            Task replacedTask = taskHashMap.put(task.getId(), task);
+            taskStates.put(task.getId(), task.getState());
+            indexText(task);
+            historyManager.remove(task.getId());
+            publish(ChangeEvent.updated(replacedTask, task));
             return true;
         } else {
             return false;
         }
     }
 
+    @Override
+    public List<BatchResult> createAll(List<? extends Task> tasks) {
+        return applyBatch(tasks, false, task -> BatchOperations.create(this, this::findById, task));
+    }
+
+    @Override
+    public List<BatchResult> updateAll(List<? extends Task> tasks) {
+        return applyBatch(tasks, true, task -> BatchOperations.update(this, this::findById, task));
+    }
+
+    /*
+     * Items are applied in order; epic times are recomputed and storage is written once at the end. A batch
+     * that clashes somewhere falls back to probing item by item, so the earlier item keeps the slot.
+     */
+    private List<BatchResult> applyBatch(List<? extends Task> tasks, boolean isUpdate,
+                                         Function<Task, BatchResult> operation) {
+        List<BatchResult> results = new ArrayList<>(tasks.size());
+        List<ChangeEvent> events = new ArrayList<>();
+        pendingEvents = events;
+        pendingEpicIds = new HashSet<>();
+        isScheduleChecked = BatchOperations.isFreeOfOverlaps(tasks, prioritizedTasks.view(), isUpdate);
+        try {
+            tasks.forEach(task -> results.add(operation.apply(task)));
+        } finally {
+            isScheduleChecked = false;
+            pendingEpicIds.stream().map(epicHashMap::get).filter(Objects::nonNull).forEach(Epic::updateTime);
+            pendingEvents = null;
+            pendingEpicIds = null;
+            if (!events.isEmpty()) {
+                storageEngine.applyAll(events, this);
+                events.forEach(changes::publish);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<BatchResult> commit(Transaction transaction) {
+        List<Task> history = historyManager.getHistory();
+        long committedVersion = version;
+        List<ChangeEvent> events = new ArrayList<>();
+        pendingEvents = events;
+        pendingEpicIds = new HashSet<>();
+        boolean isCommitted = false;
+        try {
+            List<BatchResult> results = BatchOperations.commit(this, this::findById, this::restoreInStorage,
+                    transaction);
+            isCommitted = results.stream().allMatch(BatchResult::isSuccess);
+            return results;
+        } finally {
+            pendingEpicIds.stream().map(epicHashMap::get).filter(Objects::nonNull).forEach(Epic::updateTime);
+            pendingEvents = null;
+            pendingEpicIds = null;
+            if (!isCommitted) {
+                restoreHistory(history);
+                version = committedVersion;
+            } else if (!events.isEmpty()) {
+                storageEngine.applyTransaction(events, this);
+                events.forEach(changes::publish);
+            }
+        }
+    }
+
+    private void restoreInStorage(Task task) {
+        switch (TaskTypes.of(task)) {
+            case EPIC:
+                putEpicInStorage((Epic) task);
+                break;
+            case SUBTASK:
+                putSubTaskInStorage((SubTask) task);
+                break;
+            default:
+                putTaskInStorage(task);
+                break;
+        }
+    }
+
+    private void restoreHistory(List<Task> history) {
+        historyManager.getHistory().forEach(task -> historyManager.remove(task.getId()));
+        history.forEach(historyManager::addTask);
+    }
+
     @Override
     public Optional<Task> getTaskById(int id) {
         Optional<Task> task = Optional.ofNullable(taskHashMap.get(id));
-        task.ifPresent(historyManager::addTask);
+        task.ifPresent(this::view);
         return task;
     }
 
@@ -72,16 +288,45 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(taskHashMap.values());
     }
 
+    @Override
+    public Collection<Task> viewAllTasks() {
+        return taskHashMap.view();
+    }
+
+    @Override
+    public List<Task> getTasksByState(State state) {
+        return taskStates.get(state).stream().map(taskHashMap::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> getTasksAfter(int after, int limit) {
+        return taskHashMap.valuesFrom(firstIdAfter(after), limit);
+    }
+
     @Override
     public void removeAllTasks() {
-        new ArrayList<>(taskHashMap.keySet()).forEach(this::removeTaskById);
+        taskHashMap.forEach(task -> searchIndex.remove(task.getId()));
         taskHashMap.clear();
+        taskStates.clear();
+        historyManager.removeIf(task -> TaskTypes.of(task) == TaskTypes.TASK);
+        prioritizedTasks.removeIf(task -> TaskTypes.of(task) == TaskTypes.TASK);
+        publish(ChangeEvent.cleared(TaskTypes.TASK));
     }
 
     @Override
     public Task removeTaskById(Integer id) {
-        if (taskHashMap.containsKey(id)) {
+        Task task = deleteTask(id);
+        if (Objects.nonNull(task)) {
+            publish(ChangeEvent.removed(task));
+        }
+        return task;
+    }
+
+    private Task deleteTask(Integer id) {
+        if (Objects.nonNull(id) && taskHashMap.containsKey(id)) {
             Task task = taskHashMap.remove(id);
+            taskStates.remove(id);
+            searchIndex.remove(id);
             historyManager.remove(id);
             removeFromPrioritized(task);
             return task;
@@ -96,11 +341,14 @@ public class InMemoryTaskManager implements TaskManager {
             if (Objects.nonNull(replacedEpic)) {
                 epic.setSubTaskArrayList(replacedEpic.getSubTaskArrayList());
                 epic.setStateStatistics(replacedEpic.getStateStatistics());
+                epic.setTimeStatistics(replacedEpic.getTimeStatistics());
                 epic.updateState();
                 updateEpicTime(epic);
             } else {
                 epic.initialize();
             }
+            indexEpicState(epic);
+            indexText(epic);
             return Optional.of(epic);
         } else {
             return Optional.empty();
@@ -110,13 +358,17 @@ public class InMemoryTaskManager implements TaskManager {
     @Override
     public Optional<Epic> createEpic(Epic epic) {
         epic.setId(generateId());
-        return putEpicInStorage(epic);
+        Optional<Epic> optionalEpic = putEpicInStorage(epic);
+        optionalEpic.ifPresent(createdEpic -> publish(ChangeEvent.created(createdEpic)));
+        return optionalEpic;
     }
 
     @Override
     public boolean updateEpic(Epic epic) {
-        if (epicHashMap.containsKey(epic.getId())) {
+        if (Objects.nonNull(epic.getId()) && epicHashMap.containsKey(epic.getId())) {
+            Epic replacedEpic = epicHashMap.get(epic.getId());
             Optional<Epic> optionalEpic = putEpicInStorage(epic);
+            optionalEpic.ifPresent(updatedEpic -> publish(ChangeEvent.updated(replacedEpic, updatedEpic)));
             return optionalEpic.isPresent();
         } else {
             return false;
@@ -125,8 +377,8 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Optional<Epic> getEpicById(Integer id) {
-        Optional<Epic> epic = Optional.ofNullable(epicHashMap.get(id));
-        epic.ifPresent(historyManager::addTask);
+        Optional<Epic> epic = Optional.ofNullable(id).map(epicHashMap::get);
+        epic.ifPresent(this::view);
         return epic;
     }
 
@@ -135,18 +387,46 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(epicHashMap.values());
     }
 
+    @Override
+    public Collection<Epic> viewAllEpics() {
+        return epicHashMap.view();
+    }
+
+    @Override
+    public List<Epic> getEpicsByState(State state) {
+        return epicStates.get(state).stream().map(epicHashMap::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Epic> getEpicsAfter(int after, int limit) {
+        return epicHashMap.valuesFrom(firstIdAfter(after), limit);
+    }
+
     @Override
     public void removeAllEpics() {
-        removeAllSubTasks();
-        new ArrayList<>(epicHashMap.keySet()).forEach(this::removeEpicById);
+        clearSubTasks();
+        epicHashMap.forEach(epic -> searchIndex.remove(epic.getId()));
         epicHashMap.clear();
+        epicStates.clear();
+        historyManager.removeIf(task -> TaskTypes.of(task) == TaskTypes.EPIC);
+        publish(ChangeEvent.cleared(TaskTypes.EPIC));
     }
 
     @Override
     public Epic removeEpicById(Integer id) {
-        if (epicHashMap.containsKey(id)) {
+        Epic epic = deleteEpic(id);
+        if (Objects.nonNull(epic)) {
+            publish(ChangeEvent.removed(epic));
+        }
+        return epic;
+    }
+
+    private Epic deleteEpic(Integer id) {
+        if (Objects.nonNull(id) && epicHashMap.containsKey(id)) {
             historyManager.remove(id);
-            epicHashMap.get(id).getSubTaskArrayList().forEach(this::removeSubTaskById);
+            new ArrayList<>(epicHashMap.get(id).getSubTaskArrayList()).forEach(this::deleteSubTask);
+            epicStates.remove(id);
+            searchIndex.remove(id);
             return epicHashMap.remove(id);
         } else {
             return null;
@@ -163,8 +443,7 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     protected Optional<SubTask> putSubTaskInStorage(SubTask subTask) {
-        if (subTask != null && validateTaskOnOverlapping(subTask) && linkSubTaskToEpic(subTask)) {
-            subTaskHashMap.put(subTask.getId(), subTask);
+        if (linkSubTaskInStorage(subTask)) {
             updateEpicTime(epicHashMap.get(subTask.getEpicID()));
             return Optional.of(subTask);
         } else {
@@ -172,21 +451,54 @@ public class InMemoryTaskManager implements TaskManager {
         }
     }
 
+    private boolean linkSubTaskInStorage(SubTask subTask) {
+        if (subTask != null && hasEpic(subTask) && validateTaskOnOverlapping(subTask) && linkSubTaskToEpic(subTask)) {
+            subTaskHashMap.put(subTask.getId(), subTask);
+            subTaskStates.put(subTask.getId(), subTask.getState());
+            indexText(subTask);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    protected void putAllInStorage(Collection<? extends Task> tasks) {
+        Set<Epic> touchedEpics = new HashSet<>();
+        tasks.stream().filter(task -> TaskTypes.of(task) == TaskTypes.TASK).forEach(this::putTaskInStorage);
+        tasks.stream().filter(task -> TaskTypes.of(task) == TaskTypes.EPIC)
+                .forEach(epic -> putEpicInStorage((Epic) epic));
+        tasks.stream().filter(task -> TaskTypes.of(task) == TaskTypes.SUBTASK)
+                .map(SubTask.class::cast)
+                .filter(this::linkSubTaskInStorage)
+                .forEach(subTask -> touchedEpics.add(epicHashMap.get(subTask.getEpicID())));
+        touchedEpics.forEach(this::updateEpicTime);
+    }
+
     @Override
     public Optional<SubTask> createSubTask(SubTask subTask) {
+        if (!hasEpic(subTask)) {
+            return Optional.empty();
+        }
         subTask.setId(generateId());
-        return putSubTaskInStorage(subTask);
+        Optional<SubTask> optionalSubTask = putSubTaskInStorage(subTask);
+        optionalSubTask.ifPresent(createdSubTask -> publish(ChangeEvent.created(createdSubTask)));
+        return optionalSubTask;
     }
 
     @Override
     public boolean updateSubTask(SubTask subTask) {
-        if (subTask != null && subTaskHashMap.containsKey(subTask.getId())) {
-            SubTask removedSubTask = removeSubTaskById(subTask.getId());
-            Optional<SubTask> optionalSubTask = putSubTaskInStorage(subTask);
-            if (optionalSubTask.isEmpty()) {
-                putSubTaskInStorage(removedSubTask);
-                return false;
-            }
+        if (subTask != null && Objects.nonNull(subTask.getId()) && subTaskHashMap.containsKey(subTask.getId())
+                && hasEpic(subTask) && reschedule(subTask)) {
+            SubTask replacedSubTask = subTaskHashMap.put(subTask.getId(), subTask);
+            subTaskStates.put(subTask.getId(), subTask.getState());
+            indexText(subTask);
+            Epic replacedEpic = epicHashMap.get(replacedSubTask.getEpicID());
+            removeSubTaskFromEpicList(replacedEpic, replacedSubTask);
+            updateEpicTime(replacedEpic);
+            linkSubTaskToEpic(subTask);
+            updateEpicTime(epicHashMap.get(subTask.getEpicID()));
+            historyManager.remove(subTask.getId());
+            publish(ChangeEvent.updated(replacedSubTask, subTask));
             return true;
         } else {
             return false;
@@ -195,8 +507,8 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Optional<SubTask> getSubTaskById(Integer id) {
-        Optional<SubTask> subTask = Optional.ofNullable(subTaskHashMap.get(id));
-        subTask.ifPresent(historyManager::addTask);
+        Optional<SubTask> subTask = Optional.ofNullable(id).map(subTaskHashMap::get);
+        subTask.ifPresent(this::view);
         return subTask;
     }
 
@@ -205,10 +517,35 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subTaskHashMap.values());
     }
 
+    @Override
+    public Collection<SubTask> viewAllSubTasks() {
+        return subTaskHashMap.view();
+    }
+
+    @Override
+    public List<SubTask> getSubTasksByState(State state) {
+        return subTaskStates.get(state).stream().map(subTaskHashMap::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SubTask> getSubTasksAfter(int after, int limit) {
+        return subTaskHashMap.valuesFrom(firstIdAfter(after), limit);
+    }
+
     @Override
     public SubTask removeSubTaskById(Integer id) {
-        if (subTaskHashMap.containsKey(id)) {
+        SubTask subTask = deleteSubTask(id);
+        if (Objects.nonNull(subTask)) {
+            publish(ChangeEvent.removed(subTask));
+        }
+        return subTask;
+    }
+
+    private SubTask deleteSubTask(Integer id) {
+        if (Objects.nonNull(id) && subTaskHashMap.containsKey(id)) {
             SubTask subTask = subTaskHashMap.remove(id);
+            subTaskStates.remove(id);
+            searchIndex.remove(id);
             Epic epic = epicHashMap.get(subTask.getEpicID());
             removeSubTaskFromEpicList(epic, subTask);
             updateEpicTime(epic);
@@ -222,14 +559,31 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public void removeAllSubTasks() {
-        new ArrayList<>(subTaskHashMap.keySet()).forEach(this::removeSubTaskById);
-        getAllSubTasks().stream().map(SubTask::getEpicID).map(epicHashMap::get).forEach(this::updateEpicTime);
+        clearSubTasks();
+        publish(ChangeEvent.cleared(TaskTypes.SUBTASK));
+    }
+
+    // Each epic is reset once rather than unlinked from every one of its subtasks.
+    private void clearSubTasks() {
+        subTaskHashMap.forEach(subTask -> searchIndex.remove(subTask.getId()));
         subTaskHashMap.clear();
+        subTaskStates.clear();
+        historyManager.removeIf(task -> TaskTypes.of(task) == TaskTypes.SUBTASK);
+        prioritizedTasks.removeIf(task -> TaskTypes.of(task) == TaskTypes.SUBTASK);
+        epicHashMap.forEach(epic -> {
+            epic.initialize();
+            epic.updateState();
+            indexEpicState(epic);
+        });
+    }
+
+    private boolean hasEpic(SubTask subTask) {
+        return Objects.nonNull(subTask.getEpicID()) && epicHashMap.containsKey(subTask.getEpicID());
     }
 
     private boolean linkSubTaskToEpic(SubTask subTask) {
         Integer epicId = subTask.getEpicID();
-        if (epicHashMap.containsKey(epicId)) {
+        if (Objects.nonNull(epicId) && epicHashMap.containsKey(epicId)) {
             Epic epic = epicHashMap.get(epicId);
             if (Objects.isNull(epic.getSubTaskArrayList())) {
                 epic.initialize();
@@ -243,11 +597,13 @@ public class InMemoryTaskManager implements TaskManager {
 
     private void addSubTaskToEpicList(Epic epic, SubTask subTask) {
         epic.getSubTaskArrayList().add(subTask.getId());
+        epic.getTimeStatistics().add(subTask);
         updateStatistic(epic, subTask, "add");
     }
 
     private void removeSubTaskFromEpicList(Epic epic, SubTask subTask) {
         epic.getSubTaskArrayList().remove(subTask.getId());
+        epic.getTimeStatistics().remove(subTask.getId());
         updateStatistic(epic, subTask, "sub");
     }
 
@@ -256,50 +612,180 @@ public class InMemoryTaskManager implements TaskManager {
         count = action.equals("add") ? count + 1 : count - 1;
         epic.getStateStatistics().put(subTask.getState(), count);
         epic.updateState();
+        indexEpicState(epic);
+    }
+
+    private void indexText(Task task) {
+        searchIndex.put(task.getId(), task.getName(), task.getDescription());
+    }
+
+    // An epic without subtasks is NEW even before its state is first computed.
+    private void indexEpicState(Epic epic) {
+        epicStates.put(epic.getId(), Objects.requireNonNullElse(epic.getState(), State.NEW));
     }
 
     private void updateEpicTime(Epic epic) {
-        updateEpicStartTime(epic);
-        updateEpicEndTime(epic);
-        updateEpicDuration(epic);
+        if (Objects.nonNull(pendingEpicIds)) {
+            pendingEpicIds.add(epic.getId());
+        } else {
+            epic.updateTime();
+        }
+    }
+
+    public List<Task> getPrioritizedTasks() {
+        return prioritizedTasks.values();
+    }
+
+    @Override
+    public Collection<Task> viewPrioritizedTasks() {
+        return prioritizedTasks.view();
     }
 
-    private void updateEpicStartTime(Epic epic) {
-        getAllSubTasksFromEpic(epic).stream().filter(Task::isReadyForPrioritizing)
-                .map(Task::getStartTime).min(LocalDateTime::compareTo).ifPresent(epic::setStartTime);
+    @Override
+    public List<Task> search(String query, int limit) {
+        return searchIndex.search(query, limit).stream().map(this::findById).collect(Collectors.toList());
     }
 
-    private void updateEpicEndTime(Epic epic) {
-        getAllSubTasksFromEpic(epic).stream().filter(Task::isReadyForPrioritizing)
-                .map(Task::getEndTime).max(LocalDateTime::compareTo).ifPresent(epic::setEndTime);
+    // Listeners see only events the storage engine has accepted, after it has accepted them.
+    @Override
+    public EventRing.Subscription<ChangeEvent> subscribe(EventRing.Listener<? super ChangeEvent> listener) {
+        return changes.subscribe(listener);
     }
 
-    private void updateEpicDuration(Epic epic) {
-        Optional<Long> sumOfDuration = getAllSubTasksFromEpic(epic).stream()
-                .filter(Task::isReadyForPrioritizing).map(Task::getDuration).reduce(Long::sum);
+    @Override
+    public List<Task> query(Query query) {
+        return query(query, Function.identity());
+    }
 
-        sumOfDuration.ifPresent(epic::setDuration);
+    @Override
+    public <R> List<R> query(Query query, Function<? super Task, ? extends R> projection) {
+        return QueryEngine.execute(query, new QueryIndexes(), projection);
     }
 
-    public TreeSet<Task> getPrioritizedTasks() {
-        return new TreeSet<>(prioritizedTasks);
+    @Override
+    public List<TimeSlot> getFreeSlots(LocalDateTime from, LocalDateTime to, long minDuration) {
+        return prioritizedTasks.findGaps(toEpochSecond(from), toEpochSecond(to), toSeconds(minDuration)).stream()
+                .map(gap -> new TimeSlot(fromEpochSecond(gap[0]), fromEpochSecond(gap[1])))
+                .collect(Collectors.toList());
+    }
+
+    public List<Task> getOverlappingTasks(Task task) {
+        if (task.isReadyForPrioritizing()) {
+            return prioritizedTasks.findAllOverlaps(toEpochSecond(task.getStartTime()),
+                    toEpochSecond(task.getEndTime()));
+        } else {
+            return new ArrayList<>();
+        }
     }
 
     public void removeFromPrioritized(Task task) {
-        prioritizedTasks.remove(task);
+        if (Objects.nonNull(task) && Objects.nonNull(task.getId())) {
+            prioritizedTasks.remove(task.getId());
+        }
+    }
+
+    private boolean reschedule(Task task) {
+        if (task.isReadyForPrioritizing()) {
+            return validateTaskOnOverlapping(task);
+        }
+        prioritizedTasks.remove(task.getId());
+        return true;
     }
 
     public boolean validateTaskOnOverlapping(Task task) {
         if (task.isReadyForPrioritizing()) {
-            int sizeBefore = prioritizedTasks.size();
-            prioritizedTasks.add(task);
-            return prioritizedTasks.size() != sizeBefore;
-        } else {
-            return true;
+            long start = toEpochSecond(task.getStartTime());
+            long end = toEpochSecond(task.getEndTime());
+            if (!isScheduleChecked) {
+                Task overlappingTask = prioritizedTasks.findOverlap(start, end);
+                if (Objects.nonNull(overlappingTask) && (!Objects.equals(overlappingTask.getId(), task.getId())
+                        || prioritizedTasks.findAllOverlaps(start, end).size() > 1)) {
+                    return false;
+                }
+            }
+            prioritizedTasks.put(task.getId(), start, end, task);
         }
+        return true;
+    }
+
+    // A negative cursor starts from the beginning; MAX_VALUE wraps to a key above every id.
+    private static int firstIdAfter(int after) {
+        return after < 0 ? 0 : after + 1;
+    }
+
+    // Saturates instead of overflowing: no gap is longer than Long.MAX_VALUE seconds, so none is returned.
+    private static long toSeconds(long minutes) {
+        return minutes > Long.MAX_VALUE / 60 ? Long.MAX_VALUE : minutes * 60;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private void view(Task task) {
+        historyManager.addTask(task);
+        publish(ChangeEvent.viewed(task));
     }
 
     public List<Task> getHistoryManager() {
         return historyManager.getHistory();
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Task> viewHistory() {
+        return historyManager.viewHistory();
+    }
+
+    private class QueryIndexes implements QueryEngine.Indexes {
+        @Override
+        public QueryEngine.Source all(TaskTypes type) {
+            VersionedIntMap<? extends Task> tasks = storeOf(type);
+            return new QueryEngine.Source(tasks.size(), true, () -> tasks.view().stream());
+        }
+
+        @Override
+        public QueryEngine.Source byEpic(int epicId) {
+            Epic epic = epicHashMap.get(epicId);
+            List<Integer> ids = Objects.isNull(epic) ? List.of() : epic.getSubTaskArrayList();
+            return new QueryEngine.Source(ids.size(), false, () -> ids.stream().map(subTaskHashMap::get));
+        }
+
+        @Override
+        public QueryEngine.Source byState(TaskTypes type, State state) {
+            VersionedIntMap<? extends Task> tasks = storeOf(type);
+            Set<Integer> ids = statesOf(type).get(state);
+            return new QueryEngine.Source(ids.size(), false, () -> ids.stream().map(tasks::get));
+        }
+
+        @Override
+        public QueryEngine.Source byTime(TaskTypes type, Query query, long budget) {
+            return QueryEngine.overlapping(prioritizedTasks, query, budget);
+        }
+
+        private VersionedIntMap<? extends Task> storeOf(TaskTypes type) {
+            switch (type) {
+                case EPIC:
+                    return epicHashMap;
+                case SUBTASK:
+                    return subTaskHashMap;
+                default:
+                    return taskHashMap;
+            }
+        }
+
+        private StateIndex statesOf(TaskTypes type) {
+            switch (type) {
+                case EPIC:
+                    return epicStates;
+                case SUBTASK:
+                    return subTaskStates;
+                default:
+                    return taskStates;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package implementations.dispatchers;
+
+import implementations.tasks.Query;
+import implementations.tasks.Task;
+import implementations.utility.IntervalTree;
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Every requested type is read from the cheapest index that covers the query; the full predicate is then
+ * re-checked on each candidate, so an index only has to return a superset of the matches.
+ */
+final class QueryEngine {
+    private QueryEngine() {
+    }
+
+    static <R> List<R> execute(Query query, Indexes indexes, Function<? super Task, ? extends R> projection) {
+        List<Source> plan = plan(query, indexes);
+        List<Task> matches;
+        if (plan.size() == 1 && plan.get(0).idOrdered && query.isOrderedById()) {
+            matches = plan.get(0).stream().filter(query::matches).limit(query.getLimit())
+                    .collect(Collectors.toList());
+        } else {
+            matches = top(query, plan);
+        }
+        return matches.stream().map(projection).collect(Collectors.toList());
+    }
+
+    static List<Source> plan(Query query, Indexes indexes) {
+        List<Source> plan = new ArrayList<>();
+        if (query.getLimit() <= 0) {
+            return plan;
+        }
+        for (TaskTypes type : query.getTypes()) {
+            Source best;
+            if (Objects.nonNull(query.getEpicId())) {
+                if (type != TaskTypes.SUBTASK) {
+                    continue;
+                }
+                best = indexes.byEpic(query.getEpicId());
+            } else {
+                best = indexes.all(type);
+            }
+            if (Objects.nonNull(query.getState())) {
+                best = cheaper(best, indexes.byState(type, query.getState()));
+            }
+            if (query.hasTimeRange() && type != TaskTypes.EPIC) {
+                best = cheaper(best, indexes.byTime(type, query, best.cost));
+            }
+            plan.add(best.restrictedTo(type));
+        }
+        return plan;
+    }
+
+    private static List<Task> top(Query query, List<Source> plan) {
+        Comparator<Task> comparator = query.comparator();
+        int limit = query.getLimit();
+        if (limit == Integer.MAX_VALUE) {
+            return plan.stream().flatMap(Source::stream).filter(query::matches).sorted(comparator)
+                    .collect(Collectors.toList());
+        }
+        PriorityQueue<Task> topTasks = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        plan.stream().flatMap(Source::stream).filter(query::matches).forEach(task -> {
+            if (topTasks.size() < limit) {
+                topTasks.add(task);
+            } else if (comparator.compare(task, topTasks.peek()) < 0) {
+                topTasks.poll();
+                topTasks.add(task);
+            }
+        });
+        return topTasks.stream().sorted(comparator).collect(Collectors.toList());
+    }
+
+    // The schedule holds tasks and subtasks that have both a start and a duration, which covers every time match.
+    static Source overlapping(IntervalTree<Task> schedule, Query query, long budget) {
+        long start = Objects.isNull(query.getFrom()) ? Long.MIN_VALUE : toEpochSecond(query.getFrom());
+        long end = Objects.isNull(query.getTo()) ? Long.MAX_VALUE : toEpochSecond(query.getTo());
+        int count = schedule.countOverlaps(start, end, (int) Math.min(budget, Integer.MAX_VALUE));
+        if (count >= budget) {
+            return null;
+        }
+        return new Source(count, false, () -> schedule.findAllOverlaps(start, end).stream());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Source cheaper(Source current, Source candidate) {
+        return Objects.nonNull(candidate) && candidate.cost < current.cost ? candidate : current;
+    }
+
+    interface Indexes {
+        Source all(TaskTypes type);
+
+        Source byEpic(int epicId);
+
+        // Null when the type has no state index.
+        Source byState(TaskTypes type, State state);
+
+        // Null when the time index cannot beat budget.
+        Source byTime(TaskTypes type, Query query, long budget);
+    }
+
+    static class Source {
+        private final long cost;
+        private final boolean idOrdered;
+        private final Supplier<Stream<? extends Task>> tasks;
+
+        Source(long cost, boolean idOrdered, Supplier<Stream<? extends Task>> tasks) {
+            this.cost = cost;
+            this.idOrdered = idOrdered;
+            this.tasks = tasks;
+        }
+
+        long getCost() {
+            return cost;
+        }
+
+        // Sources such as the schedule mix types; each type reads only its own tasks so none is returned twice.
+        private Source restrictedTo(TaskTypes type) {
+            return new Source(cost, idOrdered, () -> tasks.get().filter(task -> TaskTypes.of(task) == type));
+        }
+
+        private Stream<Task> stream() {
+            return tasks.get().map(Task.class::cast);
+        }
+    }
+}
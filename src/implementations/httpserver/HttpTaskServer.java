@@ -8,6 +8,7 @@ import interfaces.TaskManager;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.file.Paths;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public class HttpTaskServer {
@@ -15,8 +16,13 @@ public class HttpTaskServer {
     private final TaskManager taskManager;
 
     public HttpTaskServer(Supplier<TaskManager> supplier) throws IOException {
+        this(supplier, null);
+    }
+
+    public HttpTaskServer(Supplier<TaskManager> supplier, Executor executor) throws IOException {
         taskManager = supplier.get();
         httpServer = HttpServer.create(new InetSocketAddress(8080), 0);
+        httpServer.setExecutor(executor);
         registerEndpoints();
     }
 
@@ -26,6 +32,9 @@ public class HttpTaskServer {
         httpServer.createContext("/subtasks", new SubTaskHandler(taskManager));
         httpServer.createContext("/prioritized", new PrioritizedHandler(taskManager));
         httpServer.createContext("/history", new HistoryHandler(taskManager));
+        httpServer.createContext("/batch", new BatchHandler(taskManager));
+        httpServer.createContext("/search", new SearchHandler(taskManager));
+        httpServer.createContext("/query", new QueryHandler(taskManager));
     }
 
     public void start() {
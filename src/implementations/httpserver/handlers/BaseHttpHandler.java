@@ -12,17 +12,28 @@ import implementations.tasks.Task;
 import implementations.utility.ManagerSaveException;
 import interfaces.TaskManager;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public abstract class BaseHttpHandler implements HttpHandler {
     private static final GsonBuilder GSON_BUILDER = new GsonBuilder();
     private static final Gson GSON;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
     private final TaskManager taskManager;
 
     static {
@@ -65,6 +76,16 @@ public abstract class BaseHttpHandler implements HttpHandler {
         }
     }
 
+    // Streams the JSON with chunked encoding instead of building the whole body as one string first.
+    public void sendJson(HttpExchange httpExchange, Integer statusCode, Object body, Type type) throws IOException {
+        httpExchange.getResponseHeaders().add("Accept", "application/json;charset=utf-8");
+        httpExchange.sendResponseHeaders(statusCode, 0);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(httpExchange.getResponseBody(), StandardCharsets.UTF_8))) {
+            getGson().toJson(body, type, writer);
+        }
+    }
+
     public void sendNotFound(HttpExchange httpExchange) throws IOException {
         httpExchange.sendResponseHeaders(404, 0);
         httpExchange.close();
@@ -85,6 +106,52 @@ public abstract class BaseHttpHandler implements HttpHandler {
         httpExchange.close();
     }
 
+    protected static Map<String, String> getQueryParameters(HttpExchange httpExchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = httpExchange.getRequestURI().getRawQuery();
+        if (Objects.nonNull(query)) {
+            for (String parameter : query.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                if (!pair[0].isBlank()) {
+                    parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                            pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+                }
+            }
+        }
+        return parameters;
+    }
+
+    // Null when the parameter is absent.
+    protected static LocalDateTime parseDateParameter(Map<String, String> parameters, String name)
+            throws BadRequestParameters {
+        String value = parameters.get(name);
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestParameters("Bad request parameter " + name);
+        }
+    }
+
+    protected static long parseBoundedParameter(Map<String, String> parameters, String name, long defaultValue,
+                                                long min, long max) throws BadRequestParameters {
+        String value = parameters.get(name);
+        if (Objects.isNull(value)) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed < min || parsed > max) {
+                throw new BadRequestParameters("Bad request parameter " + name);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new BadRequestParameters("Bad request parameter " + name);
+        }
+    }
+
     protected TaskManager getTaskManager() {
         return taskManager;
     }
@@ -96,7 +163,7 @@ public abstract class BaseHttpHandler implements HttpHandler {
             throws IOException, BadRequestParameters;
 
     protected abstract void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
-            throws IOException;
+            throws IOException, BadRequestParameters;
 
     protected static GsonBuilder gsonBuilderInitialize() {
         return GSON_BUILDER
@@ -7,46 +7,76 @@ import com.sun.net.httpserver.HttpExchange;
 import implementations.httpserver.handlers.exceptions.BadRequestParameters;
 import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
 import implementations.tasks.Task;
+import implementations.utility.State;
 import interfaces.TaskManager;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public abstract class BaseHttpTaskHandler<R extends Task> extends BaseHttpHandler {
+    private static final String STATE_PARAMETER = "state";
+    private static final String LIMIT_PARAMETER = "limit";
+    private static final String AFTER_PARAMETER = "after";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
     private final Function<R, Optional<R>> createTask;
     private final Function<R, Boolean> updateTask;
     private final Function<Integer, Optional<R>> getTaskById;
-    private final Supplier<List<R>> getAllTasks;
+    private final Supplier<Collection<R>> getAllTasks;
+    private final Function<State, List<R>> getTasksByState;
+    private final BiFunction<Integer, Integer, List<R>> getTasksAfter;
     private final Function<Integer, R> removeTaskById;
     private final Class<R> className;
 
     public BaseHttpTaskHandler(
             TaskManager taskManager, Function<R, Optional<R>> createTask,
             Function<R, Boolean> updateTask, Function<Integer, Optional<R>> getTaskById,
-            Supplier<List<R>> getAllTasks, Function<Integer, R> removeTaskById,
+            Supplier<Collection<R>> getAllTasks, Function<State, List<R>> getTasksByState,
+            BiFunction<Integer, Integer, List<R>> getTasksAfter, Function<Integer, R> removeTaskById,
             Class<R> className) {
         super(taskManager);
         this.createTask = createTask;
         this.updateTask = updateTask;
         this.getTaskById = getTaskById;
         this.getAllTasks = getAllTasks;
+        this.getTasksByState = getTasksByState;
+        this.getTasksAfter = getTasksAfter;
         this.removeTaskById = removeTaskById;
         this.className = className;
     }
 
 
-    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
         if (paths.size() == 3 && !paths.getLast().isBlank()) {
             Integer taskId = Integer.parseInt(paths.getLast());
 
             getTaskByIdAndSendText(httpExchange, taskId);
         }
         if (paths.size() == 2) {
-            getAllTasksAndSendText(httpExchange);
+            Map<String, String> parameters = getQueryParameters(httpExchange);
+            String state = parameters.get(STATE_PARAMETER);
+            boolean paged = parameters.containsKey(LIMIT_PARAMETER) || parameters.containsKey(AFTER_PARAMETER);
+            if (Objects.nonNull(state) && paged) {
+                throw new BadRequestParameters("Bad request parameters for page");
+            } else if (Objects.nonNull(state)) {
+                getAllTasksAndSendText(httpExchange, getTasksByState.apply(parseState(state)));
+            } else if (paged) {
+                int after = (int) parseBoundedParameter(parameters, AFTER_PARAMETER, -1, 0, Integer.MAX_VALUE);
+                int limit = (int) parseBoundedParameter(parameters, LIMIT_PARAMETER, DEFAULT_PAGE_SIZE, 1,
+                        MAX_PAGE_SIZE);
+                getAllTasksAndSendText(httpExchange, getTasksAfter.apply(after, limit));
+            } else {
+                getAllTasksAndSendText(httpExchange, getAllTasks.get());
+            }
         }
     }
 
@@ -88,14 +118,19 @@ public abstract class BaseHttpTaskHandler<R extends Task> extends BaseHttpHandle
         }
     }
 
-    private void getAllTasksAndSendText(HttpExchange httpExchange) throws IOException {
-        List<R> taskList = getAllTasks.get();
-        String taskListJson = getGson().toJson(taskList, new TaskListTypeToken().getType());
-
+    private void getAllTasksAndSendText(HttpExchange httpExchange, Collection<R> taskList) throws IOException {
         if (taskList.isEmpty()) {
             sendText(httpExchange, 200, "Task list is empty");
         } else {
-            sendText(httpExchange, 200, taskListJson);
+            sendJson(httpExchange, 200, taskList, new TaskListTypeToken().getType());
+        }
+    }
+
+    private static State parseState(String value) throws BadRequestParameters {
+        try {
+            return State.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestParameters("Bad request parameters for state");
         }
     }
 
@@ -0,0 +1,122 @@
+package implementations.httpserver.handlers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import implementations.httpserver.handlers.exceptions.BadRequestParameters;
+import implementations.httpserver.handlers.typetokens.BatchResultListTypeToken;
+import implementations.tasks.BatchResult;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.tasks.Transaction;
+import implementations.utility.TaskTypes;
+import interfaces.TaskManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+public class BatchHandler extends BaseHttpHandler {
+    private static final String OPERATION = "operation";
+    private static final String TASK = "task";
+    private static final String ID = "id";
+    private static final String TYPE = "type";
+
+    public BatchHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void deleteMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void postMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
+        if (paths.size() > 2) {
+            sendNotFound(httpExchange);
+            return;
+        }
+        String requestBody = new String(httpExchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Transaction transaction = parseTransaction(requestBody);
+
+        List<BatchResult> results = getTaskManager().commit(transaction);
+        String resultsJson = getGson().toJson(results, new BatchResultListTypeToken().getType());
+        if (results.stream().allMatch(BatchResult::isSuccess)) {
+            sendText(httpExchange, 201, resultsJson);
+        } else {
+            sendText(httpExchange, 406, resultsJson);
+        }
+    }
+
+    private static Transaction parseTransaction(String requestBody) throws BadRequestParameters {
+        Transaction transaction = new Transaction();
+        try {
+            JsonElement jsonElement = JsonParser.parseString(requestBody);
+            if (!jsonElement.isJsonArray()) {
+                throw new BadRequestParameters("Bad request parameters for batch");
+            }
+            for (JsonElement element : jsonElement.getAsJsonArray()) {
+                if (!element.isJsonObject() || !element.getAsJsonObject().has(OPERATION)) {
+                    throw new BadRequestParameters("Bad request parameters for batch");
+                }
+                JsonObject operation = element.getAsJsonObject();
+                switch (operation.get(OPERATION).getAsString()) {
+                    case "create":
+                        transaction.create(parseTask(operation));
+                        break;
+                    case "update":
+                        transaction.update(parseTask(operation));
+                        break;
+                    case "remove":
+                        if (!operation.has(ID)) {
+                            throw new BadRequestParameters("Bad request parameters for batch");
+                        }
+                        transaction.remove(operation.get(ID).getAsInt());
+                        break;
+                    default:
+                        throw new BadRequestParameters("Bad request parameters for batch");
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException
+                 | IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestParameters("Bad request parameters for batch");
+        }
+        return transaction;
+    }
+
+    private static Task parseTask(JsonObject operation) throws BadRequestParameters {
+        if (!operation.has(TASK) || !operation.get(TASK).isJsonObject()
+                || !operation.getAsJsonObject(TASK).has(TYPE)) {
+            throw new BadRequestParameters("Bad request parameters for batch");
+        }
+        Task task = getGson().fromJson(operation.get(TASK), Task.class);
+        validate(task);
+        return task;
+    }
+
+    private static void validate(Task task) throws BadRequestParameters {
+        boolean isValid = Objects.nonNull(task.getName()) && Objects.nonNull(task.getDescription());
+        if (TaskTypes.of(task) != TaskTypes.EPIC) {
+            isValid = isValid && Objects.nonNull(task.getState())
+                    && Objects.isNull(task.getDuration()) == Objects.isNull(task.getStartTime());
+        }
+        if (TaskTypes.of(task) == TaskTypes.SUBTASK) {
+            isValid = isValid && Objects.nonNull(((SubTask) task).getEpicID());
+        }
+        if (!isValid) {
+            throw new BadRequestParameters("Bad request parameters for batch");
+        }
+    }
+}
@@ -15,11 +15,13 @@ import java.util.Optional;
 public class EpicHandler extends BaseHttpTaskHandler<Epic> {
     public EpicHandler(TaskManager taskManager) {
         super(taskManager, taskManager::createEpic, taskManager::updateEpic,
-                taskManager::getEpicById, taskManager::getAllEpics, taskManager::removeEpicById, Epic.class);
+                taskManager::getEpicById, taskManager::viewAllEpics, taskManager::getEpicsByState,
+                taskManager::getEpicsAfter, taskManager::removeEpicById, Epic.class);
     }
 
     @Override
-    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
         super.getMethodHandler(httpExchange, paths);
         if (paths.size() == 4 && paths.pollLast().equals("subtasks")) {
             Integer epicId = Integer.parseInt(paths.get(2));
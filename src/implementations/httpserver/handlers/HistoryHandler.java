@@ -26,9 +26,8 @@ public class HistoryHandler extends BaseHttpHandler {
 
     @Override
     protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
-        List<Task> history = getTaskManager().getHistoryManager();
-        String historyJson = getGson().toJson(history, new TaskListTypeToken().getType());
+        List<Task> history = getTaskManager().viewHistory();
 
-        sendText(httpExchange, 200, historyJson);
+        sendJson(httpExchange, 200, history, new TaskListTypeToken().getType());
     }
 }
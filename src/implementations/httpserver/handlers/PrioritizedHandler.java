@@ -1,15 +1,25 @@
 package implementations.httpserver.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
-import implementations.httpserver.handlers.typetokens.TaskTreeSetTypeToken;
+import implementations.httpserver.handlers.exceptions.BadRequestParameters;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.httpserver.handlers.typetokens.TimeSlotListTypeToken;
 import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
 import interfaces.TaskManager;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.LinkedList;
-import java.util.TreeSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class PrioritizedHandler extends BaseHttpHandler {
+    private static final String FREE_SLOTS_PATH = "free-slots";
+    private static final long MAX_MIN_DURATION = Long.MAX_VALUE / 60;
+
     public PrioritizedHandler(TaskManager taskManager) {
         super(taskManager);
     }
@@ -25,10 +35,31 @@ public class PrioritizedHandler extends BaseHttpHandler {
     }
 
     @Override
-    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
-        TreeSet<Task> prioritized = getTaskManager().getPrioritizedTasks();
-        String prioritizedJson = getGson().toJson(prioritized, new TaskTreeSetTypeToken().getType());
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
+        if (paths.size() == 3 && paths.getLast().equals(FREE_SLOTS_PATH)) {
+            getFreeSlotsAndSendText(httpExchange);
+            return;
+        }
+        if (paths.size() > 2) {
+            sendNotFound(httpExchange);
+            return;
+        }
+        Collection<Task> prioritized = getTaskManager().viewPrioritizedTasks();
+
+        sendJson(httpExchange, 200, prioritized, new TaskListTypeToken().getType());
+    }
+
+    private void getFreeSlotsAndSendText(HttpExchange httpExchange) throws IOException, BadRequestParameters {
+        Map<String, String> parameters = getQueryParameters(httpExchange);
+        LocalDateTime from = parseDateParameter(parameters, "from");
+        LocalDateTime to = parseDateParameter(parameters, "to");
+        long minDuration = parseBoundedParameter(parameters, "minDuration", 0, 0, MAX_MIN_DURATION);
+        if (Objects.isNull(from) || Objects.isNull(to) || !from.isBefore(to)) {
+            throw new BadRequestParameters("Bad request parameters for free slots");
+        }
 
-        sendText(httpExchange, 200, prioritizedJson);
+        List<TimeSlot> freeSlots = getTaskManager().getFreeSlots(from, to, minDuration);
+        sendText(httpExchange, 200, getGson().toJson(freeSlots, new TimeSlotListTypeToken().getType()));
     }
-}
\ No newline at end of file
+}
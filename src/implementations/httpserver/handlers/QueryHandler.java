@@ -0,0 +1,122 @@
+package implementations.httpserver.handlers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import implementations.httpserver.handlers.exceptions.BadRequestParameters;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.tasks.Query;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+import interfaces.TaskManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class QueryHandler extends BaseHttpHandler {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final String LIST_DELIMITER = ",";
+    private static final String DESCENDING_PREFIX = "-";
+
+    public QueryHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void deleteMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void postMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
+        if (paths.size() > 2) {
+            sendNotFound(httpExchange);
+            return;
+        }
+        Map<String, String> parameters = getQueryParameters(httpExchange);
+        Query query = parseQuery(parameters);
+        String fields = parameters.get("fields");
+
+        if (Objects.isNull(fields)) {
+            List<Task> tasks = getTaskManager().query(query);
+            sendJson(httpExchange, 200, tasks, new TaskListTypeToken().getType());
+        } else {
+            List<Query.Field> projection = parseFields(fields);
+            JsonArray tasks = new JsonArray();
+            getTaskManager().query(query, task -> project(task, projection)).forEach(tasks::add);
+            sendJson(httpExchange, 200, tasks, JsonArray.class);
+        }
+    }
+
+    private static Query parseQuery(Map<String, String> parameters) throws BadRequestParameters {
+        Query query = new Query()
+                .between(parseDateParameter(parameters, "from"), parseDateParameter(parameters, "to"))
+                .limit((int) parseBoundedParameter(parameters, "limit", DEFAULT_LIMIT, 1, MAX_LIMIT));
+        try {
+            query.types(parseTypes(parameters.get("type")))
+                    .namePrefix(parameters.get("prefix"));
+            String state = parameters.get("state");
+            if (Objects.nonNull(state)) {
+                query.state(State.valueOf(state.toUpperCase()));
+            }
+            String epic = parameters.get("epic");
+            if (Objects.nonNull(epic)) {
+                query.epic(Integer.parseInt(epic));
+            }
+            String sort = parameters.get("sort");
+            if (Objects.nonNull(sort)) {
+                for (String key : sort.split(LIST_DELIMITER)) {
+                    boolean descending = key.startsWith(DESCENDING_PREFIX);
+                    query.orderBy(Query.Field.of(descending ? key.substring(1) : key), descending);
+                }
+            }
+            return query;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestParameters("Bad request parameters for query");
+        }
+    }
+
+    private static Set<TaskTypes> parseTypes(String value) {
+        Set<TaskTypes> types = EnumSet.noneOf(TaskTypes.class);
+        if (Objects.nonNull(value)) {
+            for (String type : value.split(LIST_DELIMITER)) {
+                types.add(TaskTypes.valueOf(type.toUpperCase()));
+            }
+        }
+        return types;
+    }
+
+    private static List<Query.Field> parseFields(String value) throws BadRequestParameters {
+        List<Query.Field> fields = new ArrayList<>();
+        try {
+            for (String field : value.split(LIST_DELIMITER)) {
+                fields.add(Query.Field.of(field));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestParameters("Bad request parameters for query");
+        }
+        return fields;
+    }
+
+    private static JsonObject project(Task task, List<Query.Field> fields) {
+        JsonObject projected = new JsonObject();
+        for (Query.Field field : fields) {
+            projected.add(field.getFieldName(), getGson().toJsonTree(field.valueOf(task)));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,50 @@
+package implementations.httpserver.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import implementations.httpserver.handlers.exceptions.BadRequestParameters;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.tasks.Task;
+import interfaces.TaskManager;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class SearchHandler extends BaseHttpHandler {
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    public SearchHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void deleteMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void postMethodHandler(HttpExchange httpExchange, LinkedList<String> paths) throws IOException {
+        sendNotFound(httpExchange);
+    }
+
+    @Override
+    protected void getMethodHandler(HttpExchange httpExchange, LinkedList<String> paths)
+            throws IOException, BadRequestParameters {
+        if (paths.size() > 2) {
+            sendNotFound(httpExchange);
+            return;
+        }
+        Map<String, String> parameters = getQueryParameters(httpExchange);
+        String query = parameters.get("q");
+        if (Objects.isNull(query) || query.isBlank()) {
+            throw new BadRequestParameters("Bad request parameters for search");
+        }
+        int limit = (int) parseBoundedParameter(parameters, "limit", DEFAULT_LIMIT, 1, MAX_LIMIT);
+
+        List<Task> found = getTaskManager().search(query, limit);
+        sendText(httpExchange, 200, getGson().toJson(found, new TaskListTypeToken().getType()));
+    }
+}
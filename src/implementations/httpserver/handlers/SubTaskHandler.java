@@ -8,7 +8,8 @@ import java.util.Objects;
 public class SubTaskHandler extends BaseHttpTaskHandler<SubTask> {
     public SubTaskHandler(TaskManager taskManager) {
         super(taskManager, taskManager::createSubTask, taskManager::updateSubTask, taskManager::getSubTaskById,
-                taskManager::getAllSubTasks, taskManager::removeSubTaskById, SubTask.class);
+                taskManager::viewAllSubTasks, taskManager::getSubTasksByState, taskManager::getSubTasksAfter,
+                taskManager::removeSubTaskById, SubTask.class);
     }
 
     @Override
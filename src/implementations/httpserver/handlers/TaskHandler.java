@@ -9,7 +9,8 @@ import java.util.Objects;
 public class TaskHandler extends BaseHttpTaskHandler<Task> {
     public TaskHandler(TaskManager taskManager) {
         super(taskManager, taskManager::createTask, taskManager::updateTask,
-                taskManager::getTaskById, taskManager::getAllTasks, taskManager::removeTaskById, Task.class);
+                taskManager::getTaskById, taskManager::viewAllTasks, taskManager::getTasksByState,
+                taskManager::getTasksAfter, taskManager::removeTaskById, Task.class);
     }
 
     @Override
@@ -0,0 +1,9 @@
+package implementations.httpserver.handlers.typetokens;
+
+import com.google.gson.reflect.TypeToken;
+import implementations.tasks.BatchResult;
+
+import java.util.List;
+
+public class BatchResultListTypeToken extends TypeToken<List<BatchResult>> {
+}
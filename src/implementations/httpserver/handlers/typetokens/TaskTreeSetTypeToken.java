@@ -1,9 +0,0 @@
-package implementations.httpserver.handlers.typetokens;
-
-import com.google.gson.reflect.TypeToken;
-import implementations.tasks.Task;
-
-import java.util.TreeSet;
-
-public class TaskTreeSetTypeToken extends TypeToken<TreeSet<Task>> {
-}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package implementations.httpserver.handlers.typetokens;
+
+import com.google.gson.reflect.TypeToken;
+import implementations.tasks.TimeSlot;
+
+import java.util.List;
+
+public class TimeSlotListTypeToken extends TypeToken<List<TimeSlot>> {
+}
\ No newline at end of file
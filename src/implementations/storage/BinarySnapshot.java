@@ -0,0 +1,236 @@
+package implementations.storage;
+
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.ManagerSaveException;
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Layout, big-endian:
+ *   header   magic:int, version:int, taskCount:int, historyCount:int
+ *   records  taskCount x (id:int, type:byte, state:byte, epicId:int,
+ *            startEpochMinutes:int, durationMinutes:int, stringsOffset:int)
+ *   history  historyCount x id:int
+ *   strings  per task: name and description as varint(length + 1) + UTF-8 bytes, 0 for null
+ */
+public class BinarySnapshot {
+    public static final int MAGIC = 0x4B4E4254;
+    public static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 22;
+    private static final byte NULL_STATE = -1;
+    private static final int NULL_TIME = Integer.MIN_VALUE;
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final State[] STATES = State.values();
+    private static final TaskTypes[] TYPES = TaskTypes.values();
+    private final Path snapshotFile;
+    private final FsyncPolicy fsyncPolicy;
+    private long lastForceMillis = System.currentTimeMillis();
+
+    public BinarySnapshot(Path snapshotFile, FsyncPolicy fsyncPolicy) {
+        this.snapshotFile = snapshotFile;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public Board read() {
+        if (Files.notExists(snapshotFile)) {
+            return Board.empty();
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return Board.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new ManagerSaveException();
+            }
+            int taskCount = buffer.getInt(8);
+            int historyCount = buffer.getInt(12);
+            int historyStart = HEADER_SIZE + taskCount * RECORD_SIZE;
+            int stringsStart = historyStart + historyCount * Integer.BYTES;
+
+            List<Task> tasks = IntStream.range(0, taskCount).parallel()
+                    .mapToObj(index -> readTask(buffer, HEADER_SIZE + index * RECORD_SIZE, stringsStart))
+                    .collect(Collectors.toList());
+            List<Integer> history = new ArrayList<>(historyCount);
+            for (int i = 0; i < historyCount; i++) {
+                history.add(buffer.getInt(historyStart + i * Integer.BYTES));
+            }
+            return new Board(tasks, history);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    public void write(Collection<? extends Task> tasks, List<Integer> history) {
+        List<byte[]> strings = new ArrayList<>(tasks.size() * 2);
+        int stringsSize = 0;
+        for (Task task : tasks) {
+            byte[] name = encodeString(task.getName());
+            byte[] description = encodeString(task.getDescription());
+            strings.add(name);
+            strings.add(description);
+            stringsSize += stringSize(name) + stringSize(description);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + tasks.size() * RECORD_SIZE
+                + history.size() * Integer.BYTES + stringsSize);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(tasks.size()).putInt(history.size());
+        int stringsOffset = 0;
+        int index = 0;
+        for (Task task : tasks) {
+            writeRecord(buffer, task, stringsOffset);
+            stringsOffset += stringSize(strings.get(index++)) + stringSize(strings.get(index++));
+        }
+        history.forEach(buffer::putInt);
+        strings.forEach(string -> writeString(buffer, string));
+        buffer.flip();
+
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMPORARY_EXTENSION);
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            long now = System.currentTimeMillis();
+            if (fsyncPolicy.isForceDue(lastForceMillis, now)) {
+                channel.force(false);
+                lastForceMillis = now;
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        try {
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, Task task, int stringsOffset) {
+        TaskTypes type = TaskTypes.of(task);
+        buffer.putInt(task.getId())
+                .put((byte) type.ordinal())
+                .put(Objects.isNull(task.getState()) ? NULL_STATE : (byte) task.getState().ordinal())
+                .putInt(type == TaskTypes.SUBTASK ? ((SubTask) task).getEpicID() : 0)
+                .putInt(toEpochMinutes(task.getStartTime()))
+                .putInt(Objects.isNull(task.getDuration()) ? NULL_TIME : toTimeField(task.getDuration()))
+                .putInt(stringsOffset);
+    }
+
+    private static Task readTask(ByteBuffer buffer, int position, int stringsStart) {
+        int id = buffer.getInt(position);
+        TaskTypes type = TYPES[buffer.get(position + 4)];
+        byte state = buffer.get(position + 5);
+        int epicId = buffer.getInt(position + 6);
+        int startTime = buffer.getInt(position + 10);
+        int duration = buffer.getInt(position + 14);
+        int[] stringPosition = {stringsStart + buffer.getInt(position + 18)};
+        String name = readString(buffer, stringPosition);
+        String description = readString(buffer, stringPosition);
+
+        switch (type) {
+            case EPIC:
+                return new Epic(id, name, description);
+            case SUBTASK:
+                return new SubTask(id, epicId, name, description, toState(state),
+                        fromEpochMinutes(startTime), toDuration(duration));
+            default:
+                return new Task(id, name, description, toState(state),
+                        fromEpochMinutes(startTime), toDuration(duration));
+        }
+    }
+
+    private static byte[] encodeString(String value) {
+        return Objects.isNull(value) ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        int length = Objects.isNull(value) ? 0 : value.length;
+        int prefix = length + 1;
+        int size = 1;
+        while ((prefix >>>= 7) != 0) {
+            size++;
+        }
+        return size + length;
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] value) {
+        int prefix = Objects.isNull(value) ? 0 : value.length + 1;
+        while ((prefix & ~0x7F) != 0) {
+            buffer.put((byte) ((prefix & 0x7F) | 0x80));
+            prefix >>>= 7;
+        }
+        buffer.put((byte) prefix);
+        if (Objects.nonNull(value)) {
+            buffer.put(value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int[] position) {
+        int prefix = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = buffer.get(position[0]++);
+            prefix |= (next & 0x7F) << shift;
+            shift += 7;
+        } while (next < 0);
+        if (prefix == 0) {
+            return null;
+        }
+        byte[] value = new byte[prefix - 1];
+        buffer.duplicate().position(position[0]).get(value);
+        position[0] += value.length;
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static State toState(byte state) {
+        return state == NULL_STATE ? null : STATES[state];
+    }
+
+    private static Long toDuration(int duration) {
+        return duration == NULL_TIME ? null : (long) duration;
+    }
+
+    private static int toEpochMinutes(LocalDateTime date) {
+        return Objects.isNull(date) ? NULL_TIME : toTimeField(Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    // NULL_TIME is reserved for null, so it is out of range along with everything an int cannot hold.
+    private static int toTimeField(long minutes) {
+        if (minutes <= NULL_TIME || minutes > Integer.MAX_VALUE) {
+            throw new ManagerSaveException();
+        }
+        return (int) minutes;
+    }
+
+    private static LocalDateTime fromEpochMinutes(int minutes) {
+        return minutes == NULL_TIME ? null : LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,63 @@
+package implementations.storage;
+
+import implementations.tasks.Task;
+import interfaces.StorageEngine;
+import interfaces.TaskManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinarySnapshotStorageEngine implements StorageEngine {
+    private final BinarySnapshot binarySnapshot;
+    private final HistoryLog historyLog;
+    private final IdWatermark idWatermark;
+
+    public BinarySnapshotStorageEngine(Path snapshotFile, FsyncPolicy fsyncPolicy) {
+        this.binarySnapshot = new BinarySnapshot(snapshotFile, fsyncPolicy);
+        this.historyLog = new HistoryLog(snapshotFile, fsyncPolicy);
+        this.idWatermark = new IdWatermark(snapshotFile, fsyncPolicy);
+    }
+
+    @Override
+    public Board load() {
+        Board board = binarySnapshot.read();
+        List<Integer> history = new ArrayList<>(board.getHistory());
+        history.addAll(historyLog.read());
+        return new Board(board.getTasks(), history, idWatermark.read());
+    }
+
+    @Override
+    public void apply(ChangeEvent event, TaskManager board) {
+        applyAll(List.of(event), board);
+    }
+
+    @Override
+    public void applyAll(List<ChangeEvent> events, TaskManager board) {
+        boolean isChanged = false;
+        for (ChangeEvent event : events) {
+            if (event.getKind() == ChangeEvent.Kind.VIEWED) {
+                historyLog.append(event.getId(), () -> HistoryLog.idsOf(board.getHistoryManager()));
+            } else {
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            List<Task> tasks = new ArrayList<>(board.getAllTasks());
+            tasks.addAll(board.getAllEpics());
+            tasks.addAll(board.getAllSubTasks());
+            binarySnapshot.write(tasks, HistoryLog.idsOf(board.getHistoryManager()));
+            historyLog.rewrite(List.of());
+        }
+    }
+
+    @Override
+    public void reserveIds(int highWaterMark) {
+        idWatermark.write(highWaterMark);
+    }
+
+    @Override
+    public void close() {
+        historyLog.close();
+    }
+}
@@ -0,0 +1,42 @@
+package implementations.storage;
+
+import implementations.tasks.Task;
+
+import java.util.List;
+
+public class Board {
+    public static final int UNKNOWN_ID = -1;
+    private final List<Task> tasks;
+    private final List<Integer> history;
+    private final int nextId;
+
+    public Board(List<Task> tasks, List<Integer> history) {
+        this(tasks, history, UNKNOWN_ID);
+    }
+
+    public Board(List<Task> tasks, List<Integer> history, int nextId) {
+        this.tasks = tasks;
+        this.history = history;
+        this.nextId = nextId;
+    }
+
+    public static Board empty() {
+        return new Board(List.of(), List.of());
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public List<Integer> getHistory() {
+        return history;
+    }
+
+    // Boards saved before the id watermark existed fall back to the highest stored id.
+    public int getNextId() {
+        if (nextId != UNKNOWN_ID) {
+            return nextId;
+        }
+        return tasks.stream().mapToInt(Task::getId).max().orElse(-1) + 1;
+    }
+}
@@ -0,0 +1,83 @@
+package implementations.storage;
+
+import implementations.tasks.Task;
+import implementations.utility.TaskTypes;
+
+import java.util.Objects;
+
+public class ChangeEvent {
+    private final Kind kind;
+    private final TaskTypes type;
+    private final Task before;
+    private final Task after;
+
+    private ChangeEvent(Kind kind, TaskTypes type, Task before, Task after) {
+        this.kind = kind;
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ChangeEvent created(Task task) {
+        return new ChangeEvent(Kind.CREATED, TaskTypes.of(task), null, task);
+    }
+
+    public static ChangeEvent updated(Task before, Task after) {
+        return new ChangeEvent(Kind.UPDATED, TaskTypes.of(after), before, after);
+    }
+
+    public static ChangeEvent removed(Task task) {
+        return new ChangeEvent(Kind.REMOVED, TaskTypes.of(task), task, null);
+    }
+
+    public static ChangeEvent cleared(TaskTypes type) {
+        return new ChangeEvent(Kind.CLEARED, type, null, null);
+    }
+
+    public static ChangeEvent viewed(Task task) {
+        return new ChangeEvent(Kind.VIEWED, TaskTypes.of(task), null, task);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public TaskTypes getType() {
+        return type;
+    }
+
+    public Task getBefore() {
+        return before;
+    }
+
+    public Task getAfter() {
+        return after;
+    }
+
+    public Integer getId() {
+        if (Objects.nonNull(after)) {
+            return after.getId();
+        } else if (Objects.nonNull(before)) {
+            return before.getId();
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "kind=" + kind +
+                ", type=" + type +
+                ", id=" + getId() +
+                '}';
+    }
+
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        REMOVED,
+        CLEARED,
+        VIEWED
+    }
+}
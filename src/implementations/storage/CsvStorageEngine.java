@@ -0,0 +1,224 @@
+package implementations.storage;
+
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.ManagerSaveException;
+import implementations.utility.TaskTypes;
+import interfaces.StorageEngine;
+import interfaces.TaskManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CsvStorageEngine implements StorageEngine {
+    public static final String HEAD = "id,type,name,status,description,epic";
+    private static final String DELIMITER_NEW_LINE = "\n";
+    private static final String DELIMITER_COMMA = ",";
+    private final Path dataFile;
+    private final FsyncPolicy fsyncPolicy;
+    private final HistoryLog historyLog;
+    private final IdWatermark idWatermark;
+    private final Map<Integer, Task> liveTasks = new HashMap<>();
+    private final Map<TaskTypes, Map<Integer, byte[]>> encodedRows = new EnumMap<>(TaskTypes.class);
+    private Set<Integer> dirtyIds = new HashSet<>();
+    private boolean isAttached;
+    private byte[] saveBuffer = new byte[0];
+    private int saveBufferSize;
+    private long lastForceMillis = System.currentTimeMillis();
+
+    public CsvStorageEngine(Path dataFile, FsyncPolicy fsyncPolicy) {
+        this.dataFile = dataFile;
+        this.fsyncPolicy = fsyncPolicy;
+        this.historyLog = new HistoryLog(dataFile, fsyncPolicy);
+        this.idWatermark = new IdWatermark(dataFile, fsyncPolicy);
+    }
+
+    @Override
+    public Board load() {
+        List<String> readLinesFromFile = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(dataFile, StandardCharsets.UTF_8)) {
+            lines.skip(1).forEach(readLinesFromFile::add);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println(e.getMessage());
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> history = new ArrayList<>();
+        if (!readLinesFromFile.isEmpty()) {
+            String historyLine = readLinesFromFile.remove(readLinesFromFile.size() - 1);
+            tasks = TaskCsvCodec.decodeAll(readLinesFromFile);
+            history.addAll(historyFromString(historyLine));
+        }
+        history.addAll(historyLog.read());
+        return new Board(tasks, history, idWatermark.read());
+    }
+
+    public static String historyToString(List<? extends Task> history) {
+        return history.stream()
+                .map(Task::getId)
+                .map(String::valueOf)
+                .collect(Collectors.joining(DELIMITER_COMMA));
+    }
+
+    public static List<Integer> historyFromString(String value) {
+        return Arrays.stream(value.split(DELIMITER_COMMA))
+                .filter(element -> !element.isBlank())
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void apply(ChangeEvent event, TaskManager board) {
+        applyAll(List.of(event), board);
+    }
+
+    @Override
+    public void applyAll(List<ChangeEvent> events, TaskManager board) {
+        boolean isChanged = false;
+        for (ChangeEvent event : events) {
+            if (event.getKind() == ChangeEvent.Kind.VIEWED) {
+                historyLog.append(event.getId(), () -> HistoryLog.idsOf(board.getHistoryManager()));
+                continue;
+            }
+            if (isAttached) {
+                track(event);
+            } else {
+                attach(board);
+            }
+            isChanged = true;
+        }
+        if (isChanged) {
+            save(board);
+        }
+    }
+
+    @Override
+    public void reserveIds(int highWaterMark) {
+        idWatermark.write(highWaterMark);
+    }
+
+    private void attach(TaskManager board) {
+        Stream.of(board.getAllTasks(), board.getAllEpics(), board.getAllSubTasks())
+                .flatMap(List::stream)
+                .forEach(task -> liveTasks.put(task.getId(), task));
+        dirtyIds.addAll(liveTasks.keySet());
+        isAttached = true;
+    }
+
+    private void track(ChangeEvent event) {
+        switch (event.getKind()) {
+            case CREATED:
+            case UPDATED:
+                liveTasks.put(event.getId(), event.getAfter());
+                dirtyIds.add(event.getId());
+                break;
+            case REMOVED:
+                liveTasks.remove(event.getId());
+                dirtyIds.add(event.getId());
+                if (event.getType() == TaskTypes.EPIC) {
+                    removeSubTasksOf(event.getId());
+                }
+                break;
+            case CLEARED:
+                liveTasks.values().removeIf(task -> TaskTypes.of(task) == event.getType()
+                        || (event.getType() == TaskTypes.EPIC && TaskTypes.of(task) == TaskTypes.SUBTASK));
+                encodedRows.remove(event.getType());
+                if (event.getType() == TaskTypes.EPIC) {
+                    encodedRows.remove(TaskTypes.SUBTASK);
+                }
+                break;
+        }
+        if (event.getType() == TaskTypes.SUBTASK) {
+            Stream.of(event.getBefore(), event.getAfter())
+                    .filter(Objects::nonNull)
+                    .map(subTask -> ((SubTask) subTask).getEpicID())
+                    .forEach(dirtyIds::add);
+        }
+        if (event.getKind() == ChangeEvent.Kind.CLEARED && event.getType() == TaskTypes.SUBTASK) {
+            liveTasks.values().stream()
+                    .filter(task -> TaskTypes.of(task) == TaskTypes.EPIC)
+                    .map(Task::getId)
+                    .forEach(dirtyIds::add);
+        }
+    }
+
+    private void removeSubTasksOf(Integer epicId) {
+        List<Integer> subTaskIds = liveTasks.values().stream()
+                .filter(task -> TaskTypes.of(task) == TaskTypes.SUBTASK)
+                .filter(task -> epicId.equals(((SubTask) task).getEpicID()))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        subTaskIds.forEach(liveTasks::remove);
+        dirtyIds.addAll(subTaskIds);
+    }
+
+    private void save(TaskManager board) {
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = encodeChangedBoard(board);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            long now = System.currentTimeMillis();
+            if (fsyncPolicy.isForceDue(lastForceMillis, now)) {
+                channel.force(false);
+                lastForceMillis = now;
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        historyLog.rewrite(List.of());
+    }
+
+    private ByteBuffer encodeChangedBoard(TaskManager board) {
+        TaskCsvCodec codec = TaskCsvCodec.forCurrentThread();
+        for (Integer id : dirtyIds) {
+            Task task = liveTasks.get(id);
+            if (Objects.isNull(task)) {
+                encodedRows.values().forEach(rows -> rows.remove(id));
+            } else {
+                String row = codec.encode(task, new StringBuilder(DELIMITER_NEW_LINE)).toString();
+                encodedRows.computeIfAbsent(TaskTypes.of(task), type -> new HashMap<>())
+                        .put(id, row.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        dirtyIds = new HashSet<>();
+
+        saveBufferSize = 0;
+        appendToSaveBuffer(HEAD.getBytes(StandardCharsets.UTF_8));
+        encodedRows.values().forEach(rows -> rows.values().forEach(this::appendToSaveBuffer));
+        appendToSaveBuffer((System.lineSeparator() + System.lineSeparator()
+                + historyToString(board.getHistoryManager())).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(saveBuffer, 0, saveBufferSize);
+    }
+
+    private void appendToSaveBuffer(byte[] bytes) {
+        if (saveBufferSize + bytes.length > saveBuffer.length) {
+            saveBuffer = Arrays.copyOf(saveBuffer, Math.max(2 * saveBuffer.length, saveBufferSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, saveBuffer, saveBufferSize, bytes.length);
+        saveBufferSize += bytes.length;
+    }
+
+    @Override
+    public void close() {
+        historyLog.close();
+    }
+}
@@ -0,0 +1,53 @@
+package implementations.storage;
+
+public class FsyncPolicy {
+    private static final FsyncPolicy EVERY_WRITE = new FsyncPolicy(0);
+    private static final FsyncPolicy OS_MANAGED = new FsyncPolicy(-1);
+    private final long intervalMillis;
+
+    private FsyncPolicy(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public static FsyncPolicy everyWrite() {
+        return EVERY_WRITE;
+    }
+
+    public static FsyncPolicy everyMillis(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be positive");
+        }
+        return new FsyncPolicy(intervalMillis);
+    }
+
+    public static FsyncPolicy osManaged() {
+        return OS_MANAGED;
+    }
+
+    public boolean isEveryWrite() {
+        return intervalMillis == 0;
+    }
+
+    public boolean isOsManaged() {
+        return intervalMillis < 0;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public boolean isForceDue(long lastForceMillis, long nowMillis) {
+        return isEveryWrite() || (!isOsManaged() && nowMillis - lastForceMillis >= intervalMillis);
+    }
+
+    @Override
+    public String toString() {
+        if (isEveryWrite()) {
+            return "FsyncPolicy{everyWrite}";
+        } else if (isOsManaged()) {
+            return "FsyncPolicy{osManaged}";
+        } else {
+            return "FsyncPolicy{everyMillis=" + intervalMillis + '}';
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package implementations.storage;
+
+import implementations.utility.ManagerSaveException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class GroupCommitWriter implements Closeable {
+    private static final char DELIMITER_NEW_LINE = '\n';
+    private static final PendingWrite CLOSE = new PendingWrite(null, false);
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private long lastForceMillis = System.currentTimeMillis();
+    private boolean isForceNeeded;
+    private volatile boolean isClosing;
+    // After a failed fsync the page cache may have dropped dirty pages, so nothing written later can be trusted.
+    private volatile IOException forceFailure;
+
+    public GroupCommitWriter(Path file, boolean append, FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        writerThread = new Thread(this::writeBatches, "group-commit-" + file.getFileName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public CompletableFuture<Void> submit(String record) {
+        if (isClosing || Objects.nonNull(forceFailure)) {
+            throw new ManagerSaveException();
+        }
+        return enqueue(new PendingWrite(record, false));
+    }
+
+    public void write(String record) {
+        await(submit(record));
+    }
+
+    // Empties the file in order with the writes around it, without reopening the channel or the writer thread.
+    public void truncate() {
+        if (isClosing || Objects.nonNull(forceFailure)) {
+            throw new ManagerSaveException();
+        }
+        await(enqueue(new PendingWrite(null, true)));
+    }
+
+    private CompletableFuture<Void> enqueue(PendingWrite pendingWrite) {
+        pendingWrites.add(pendingWrite);
+        return pendingWrite.acknowledgement;
+    }
+
+    public static void await(CompletableFuture<Void> acknowledgement) {
+        try {
+            acknowledgement.join();
+        } catch (CompletionException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    private void writeBatches() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean isClosed = false;
+        while (!isClosed) {
+            PendingWrite first = nextPendingWrite();
+            if (Objects.isNull(first)) {
+                forceIfDue();
+                continue;
+            }
+            batch.add(first);
+            pendingWrites.drainTo(batch);
+            isClosed = batch.remove(CLOSE);
+            try {
+                if (Objects.nonNull(forceFailure)) {
+                    throw forceFailure;
+                }
+                writeBatch(batch);
+                batch.forEach(pendingWrite -> pendingWrite.acknowledgement.complete(null));
+            } catch (IOException e) {
+                batch.forEach(pendingWrite -> pendingWrite.acknowledgement.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private PendingWrite nextPendingWrite() {
+        try {
+            if (fsyncPolicy.isEveryWrite() || fsyncPolicy.isOsManaged()) {
+                return pendingWrites.take();
+            } else {
+                return pendingWrites.poll(fsyncPolicy.getIntervalMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CLOSE;
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (PendingWrite pendingWrite : batch) {
+            if (pendingWrite.isTruncate) {
+                writeRecords(builder);
+                channel.truncate(0);
+                isForceNeeded = true;
+            } else {
+                builder.append(pendingWrite.record).append(DELIMITER_NEW_LINE);
+            }
+        }
+        writeRecords(builder);
+        if (fsyncPolicy.isEveryWrite()) {
+            force();
+        } else {
+            forceIfDue();
+        }
+    }
+
+    private void writeRecords(StringBuilder builder) throws IOException {
+        if (builder.length() > 0) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(builder.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            builder.setLength(0);
+            isForceNeeded = true;
+        }
+    }
+
+    private void forceIfDue() {
+        if (fsyncPolicy.isForceDue(lastForceMillis, System.currentTimeMillis())) {
+            try {
+                force();
+            } catch (IOException e) {
+                forceFailure = e;
+            }
+        }
+    }
+
+    private void force() throws IOException {
+        if (isForceNeeded) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                forceFailure = e;
+                throw e;
+            }
+            isForceNeeded = false;
+            lastForceMillis = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void close() {
+        isClosing = true;
+        pendingWrites.add(CLOSE);
+        try {
+            writerThread.join();
+            if (isForceNeeded && !fsyncPolicy.isOsManaged() && Objects.isNull(forceFailure)) {
+                channel.force(false);
+            }
+            channel.close();
+            if (Objects.nonNull(forceFailure)) {
+                throw new ManagerSaveException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    private static class PendingWrite {
+        private final String record;
+        private final boolean isTruncate;
+        private final CompletableFuture<Void> acknowledgement = new CompletableFuture<>();
+
+        private PendingWrite(String record, boolean isTruncate) {
+            this.record = record;
+            this.isTruncate = isTruncate;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package implementations.storage;
+
+import implementations.tasks.Task;
+import implementations.utility.ManagerSaveException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class HistoryLog implements Closeable {
+    private static final String EXTENSION = ".history";
+    private static final String DELIMITER_NEW_LINE = "\n";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final int MIN_COMPACTION_SIZE = 1024;
+    private final Path logFile;
+    private final FsyncPolicy fsyncPolicy;
+    private GroupCommitWriter writer;
+    private int size;
+    private int compactionSize = MIN_COMPACTION_SIZE;
+
+    public HistoryLog(Path dataFile, FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+        logFile = dataFile.resolveSibling(dataFile.getFileName() + EXTENSION);
+        size = read().size();
+    }
+
+    public List<Integer> read() {
+        List<Integer> ids = new ArrayList<>();
+        if (Files.exists(logFile)) {
+            try (BufferedReader bufferedReader = new BufferedReader(
+                    new FileReader(logFile.toString(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = bufferedReader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        ids.add(Integer.parseInt(line));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+        return ids;
+    }
+
+    public void append(Integer id) {
+        if (Objects.isNull(writer)) {
+            writer = openWriter(true);
+        }
+        writer.write(String.valueOf(id));
+        size++;
+    }
+
+    public void append(Integer id, Supplier<List<Integer>> history) {
+        append(id);
+        if (isCompactionNeeded()) {
+            rewrite(history.get());
+        }
+    }
+
+    public static List<Integer> idsOf(List<? extends Task> tasks) {
+        return tasks.stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    public void rewrite(List<Integer> ids) {
+        if (size == 0 && ids.isEmpty()) {
+            return;
+        }
+        if (ids.isEmpty()) {
+            // Emptying is a single truncate, so there is no window in which part of the history is gone.
+            if (Objects.isNull(writer)) {
+                writer = openWriter(false);
+            } else {
+                writer.truncate();
+            }
+        } else {
+            replace(ids);
+        }
+        size = ids.size();
+        compactionSize = Math.max(MIN_COMPACTION_SIZE, 2 * ids.size());
+    }
+
+    public boolean isCompactionNeeded() {
+        return size > compactionSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    // Compaction writes the new history beside the log and moves it over, so a crash leaves one of the two whole.
+    private void replace(List<Integer> ids) {
+        Path temporaryFile = logFile.resolveSibling(logFile.getFileName() + TEMPORARY_EXTENSION);
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(ids.stream().map(String::valueOf)
+                .collect(Collectors.joining(DELIMITER_NEW_LINE, "", DELIMITER_NEW_LINE)));
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        close();
+        try {
+            Files.move(temporaryFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        writer = openWriter(true);
+    }
+
+    private GroupCommitWriter openWriter(boolean append) {
+        return new GroupCommitWriter(logFile, append, fsyncPolicy);
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(writer)) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
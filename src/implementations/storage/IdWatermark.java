@@ -0,0 +1,65 @@
+package implementations.storage;
+
+import implementations.utility.ManagerSaveException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class IdWatermark {
+    private static final String EXTENSION = ".ids";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private final Path watermarkFile;
+    private final FsyncPolicy fsyncPolicy;
+    private long lastForceMillis = System.currentTimeMillis();
+
+    public IdWatermark(Path dataFile, FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+        watermarkFile = dataFile.resolveSibling(dataFile.getFileName() + EXTENSION);
+    }
+
+    public int read() {
+        if (Files.notExists(watermarkFile)) {
+            return Board.UNKNOWN_ID;
+        }
+        try {
+            return Integer.parseInt(Files.readString(watermarkFile, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            System.out.println(e.getMessage());
+            return Board.UNKNOWN_ID;
+        }
+    }
+
+    public void write(int highWaterMark) {
+        Path temporaryFile = watermarkFile.resolveSibling(watermarkFile.getFileName() + TEMPORARY_EXTENSION);
+        ByteBuffer buffer = ByteBuffer.wrap(String.valueOf(highWaterMark).getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            long now = System.currentTimeMillis();
+            if (fsyncPolicy.isForceDue(lastForceMillis, now)) {
+                channel.force(false);
+                lastForceMillis = now;
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+        try {
+            Files.move(temporaryFile, watermarkFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    public Path getWatermarkFile() {
+        return watermarkFile;
+    }
+}
@@ -0,0 +1,19 @@
+package implementations.storage;
+
+import interfaces.StorageEngine;
+import interfaces.TaskManager;
+
+public class InMemoryStorageEngine implements StorageEngine {
+    @Override
+    public Board load() {
+        return Board.empty();
+    }
+
+    @Override
+    public void apply(ChangeEvent event, TaskManager board) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
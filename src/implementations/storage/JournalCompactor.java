@@ -0,0 +1,195 @@
+package implementations.storage;
+
+import implementations.tasks.SubTask;
+import implementations.utility.ManagerSaveException;
+import implementations.utility.TaskTypes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class JournalCompactor implements Closeable {
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final String SEALED_EXTENSION = ".sealed";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final String DELIMITER_COMMA = ",";
+    private static final char DELIMITER_NEW_LINE = '\n';
+    private final Path snapshotFile;
+    private final Path sealedFile;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> compaction;
+
+    public JournalCompactor(Path journalFile) {
+        snapshotFile = journalFile.resolveSibling(journalFile.getFileName() + SNAPSHOT_EXTENSION);
+        sealedFile = journalFile.resolveSibling(journalFile.getFileName() + SEALED_EXTENSION);
+    }
+
+    public List<String> loadRows(List<String> journalRecords) {
+        LinkedHashMap<Integer, String> rows = readSnapshot();
+        fold(rows, TaskJournal.readRecords(sealedFile));
+        fold(rows, journalRecords);
+        return groupByType(rows.values());
+    }
+
+    public void compact(TaskJournal journal) {
+        if (isRunning()) {
+            return;
+        }
+        checkFinishedCompaction();
+        if (Files.notExists(sealedFile)) {
+            journal.seal(sealedFile);
+        }
+        compaction = executor.submit(this::compactSealedJournal);
+    }
+
+    public boolean isRunning() {
+        return Objects.nonNull(compaction) && !compaction.isDone();
+    }
+
+    // A failed compaction is reported once; the sealed journal is kept, so the next compact() retries it.
+    private void checkFinishedCompaction() {
+        Future<?> finished = compaction;
+        compaction = null;
+        if (Objects.isNull(finished)) {
+            return;
+        }
+        try {
+            finished.get();
+        } catch (ExecutionException e) {
+            throw new ManagerSaveException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void compactSealedJournal() {
+        LinkedHashMap<Integer, String> rows = readSnapshot();
+        fold(rows, TaskJournal.readRecords(sealedFile));
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMPORARY_EXTENSION);
+
+        StringBuilder builder = new StringBuilder(CsvStorageEngine.HEAD);
+        for (String row : groupByType(rows.values())) {
+            builder.append(DELIMITER_NEW_LINE).append(row);
+        }
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(builder.toString());
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        // The sealed journal is the only other copy of these changes, so it goes only once the move is durable.
+        try {
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(snapshotFile.toAbsolutePath().getParent());
+            Files.delete(sealedFile);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    // Not every platform can open a directory as a channel; there the rename is as durable as the OS makes it.
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private LinkedHashMap<Integer, String> readSnapshot() {
+        LinkedHashMap<Integer, String> rows = new LinkedHashMap<>();
+        List<String> lines = TaskJournal.readRecords(snapshotFile);
+        lines.stream().skip(1).forEach(row -> rows.put(idOf(row), row));
+        return rows;
+    }
+
+    private static void fold(LinkedHashMap<Integer, String> rows, List<String> records) {
+        for (String record : records) {
+            String payload = TaskJournal.payloadOf(record);
+            switch (TaskJournal.operationOf(record)) {
+                case TaskJournal.PUT:
+                    rows.put(idOf(payload), payload);
+                    break;
+                case TaskJournal.REMOVE:
+                    int id = Integer.parseInt(payload);
+                    String removedRow = rows.remove(id);
+                    // The epic row may already be folded away, so its subtasks are found by their epic id alone.
+                    if (Objects.isNull(removedRow) || typeOf(removedRow) == TaskTypes.EPIC) {
+                        removeSubTasksOf(rows, id);
+                    }
+                    break;
+                case TaskJournal.TRANSACTION:
+                    fold(rows, TaskJournal.transactionRecordsOf(payload));
+                    break;
+                case TaskJournal.CLEAR:
+                    TaskTypes type = TaskTypes.valueOf(payload);
+                    rows.values().removeIf(row -> typeOf(row) == type
+                            || (type == TaskTypes.EPIC && typeOf(row) == TaskTypes.SUBTASK));
+                    break;
+            }
+        }
+    }
+
+    private static void removeSubTasksOf(LinkedHashMap<Integer, String> rows, int epicId) {
+        TaskCsvCodec codec = TaskCsvCodec.forCurrentThread();
+        rows.values().removeIf(row -> typeOf(row) == TaskTypes.SUBTASK
+                && ((SubTask) codec.decode(row)).getEpicID() == epicId);
+    }
+
+    private static List<String> groupByType(Collection<String> rows) {
+        List<String> groupedRows = new ArrayList<>(rows.size());
+        for (TaskTypes type : TaskTypes.values()) {
+            rows.stream().filter(row -> typeOf(row) == type).forEach(groupedRows::add);
+        }
+        return groupedRows;
+    }
+
+    private static Integer idOf(String row) {
+        return Integer.parseInt(row.substring(0, row.indexOf(DELIMITER_COMMA)));
+    }
+
+    private static TaskTypes typeOf(String row) {
+        int start = row.indexOf(DELIMITER_COMMA) + 1;
+        return TaskTypes.valueOf(row.substring(start, row.indexOf(DELIMITER_COMMA, start)));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!isRunning()) {
+            checkFinishedCompaction();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package implementations.storage;
+
+import interfaces.StorageEngine;
+import interfaces.TaskManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JournalStorageEngine implements StorageEngine {
+    public static final int JOURNAL_MAX_RECORDS = 10_000;
+    public static final long JOURNAL_MAX_SIZE = 8 * 1024 * 1024;
+    private static final String DELIMITER_COMMA = ",";
+    private final TaskJournal journal;
+    private final JournalCompactor compactor;
+    private final HistoryLog historyLog;
+    private final IdWatermark idWatermark;
+
+    public JournalStorageEngine(Path journalFile, FsyncPolicy fsyncPolicy) {
+        this(journalFile, fsyncPolicy, JOURNAL_MAX_RECORDS, JOURNAL_MAX_SIZE);
+    }
+
+    public JournalStorageEngine(Path journalFile, FsyncPolicy fsyncPolicy, int maxRecords, long maxSize) {
+        this.journal = new TaskJournal(journalFile, fsyncPolicy, maxRecords, maxSize);
+        this.compactor = new JournalCompactor(journalFile);
+        this.historyLog = new HistoryLog(journalFile, fsyncPolicy);
+        this.idWatermark = new IdWatermark(journalFile, fsyncPolicy);
+    }
+
+    @Override
+    public Board load() {
+        return new Board(TaskCsvCodec.decodeAll(compactor.loadRows(journal.readRecords())),
+                historyLog.read(), idWatermark.read());
+    }
+
+    @Override
+    public void apply(ChangeEvent event, TaskManager board) {
+        applyAll(List.of(event), board);
+    }
+
+    @Override
+    public void applyAll(List<ChangeEvent> events, TaskManager board) {
+        List<String> records = recordsOf(events, board);
+        if (!records.isEmpty()) {
+            append(records);
+        }
+    }
+
+    @Override
+    public void applyTransaction(List<ChangeEvent> events, TaskManager board) {
+        List<String> records = recordsOf(events, board);
+        if (records.size() == 1) {
+            append(records);
+        } else if (!records.isEmpty()) {
+            append(List.of(TaskJournal.transaction(records)));
+        }
+    }
+
+    private List<String> recordsOf(List<ChangeEvent> events, TaskManager board) {
+        List<String> records = new ArrayList<>(events.size());
+        for (ChangeEvent event : events) {
+            switch (event.getKind()) {
+                case CREATED:
+                case UPDATED:
+                    records.add(putRecord(event));
+                    break;
+                case REMOVED:
+                    records.add(TaskJournal.record(TaskJournal.REMOVE, event.getId()));
+                    break;
+                case CLEARED:
+                    records.add(TaskJournal.record(TaskJournal.CLEAR, event.getType()));
+                    break;
+                case VIEWED:
+                    historyLog.append(event.getId(), () -> HistoryLog.idsOf(board.getHistoryManager()));
+                    break;
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void reserveIds(int highWaterMark) {
+        idWatermark.write(highWaterMark);
+    }
+
+    private static String putRecord(ChangeEvent event) {
+        return TaskCsvCodec.forCurrentThread()
+                .encode(event.getAfter(), new StringBuilder(TaskJournal.PUT).append(DELIMITER_COMMA))
+                .toString();
+    }
+
+    private void append(List<String> records) {
+        journal.append(records);
+        if (journal.isCompactionNeeded()) {
+            compactor.compact(journal);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            compactor.close();
+        } finally {
+            journal.close();
+            historyLog.close();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package implementations.storage;
+
+public enum StorageBackend {
+    MEMORY,
+    CSV,
+    JOURNAL,
+    SNAPSHOT
+}
@@ -0,0 +1,218 @@
+package implementations.storage;
+
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public class TaskCsvCodec {
+    private static final char DELIMITER_COMMA = ',';
+    private static final String NULL = "null";
+    private static final int DATE_LENGTH = 16;
+    private static final int MAX_FIELDS = 8;
+    private static final State[] STATES = State.values();
+    private static final TaskTypes[] TYPES = TaskTypes.values();
+    private static final ThreadLocal<TaskCsvCodec> CODEC = ThreadLocal.withInitial(TaskCsvCodec::new);
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private final int[] fieldStarts = new int[MAX_FIELDS + 1];
+
+    public static TaskCsvCodec forCurrentThread() {
+        return CODEC.get();
+    }
+
+    public static List<Task> decodeAll(List<String> rows) {
+        return rows.parallelStream()
+                .filter(row -> !row.isEmpty())
+                .map(row -> forCurrentThread().decode(row))
+                .collect(Collectors.toList());
+    }
+
+    public StringBuilder encode(Task task, StringBuilder builder) {
+        TaskTypes type = TaskTypes.of(task);
+        builder.append(task.getId()).append(DELIMITER_COMMA)
+                .append(type.name()).append(DELIMITER_COMMA)
+                .append(task.getName()).append(DELIMITER_COMMA);
+        appendState(builder, task.getState()).append(DELIMITER_COMMA)
+                .append(task.getDescription()).append(DELIMITER_COMMA);
+        if (type == TaskTypes.SUBTASK) {
+            builder.append(((SubTask) task).getEpicID()).append(DELIMITER_COMMA);
+        }
+        appendDate(builder, task.getStartTime()).append(DELIMITER_COMMA);
+        return appendDuration(builder, task);
+    }
+
+    public Task decode(String row) {
+        int fields = split(row);
+        int id = parseInt(row, 0);
+        TaskTypes type = parseType(row, 1);
+
+        switch (type) {
+            case EPIC:
+                requireFields(row, fields, 5);
+                return new Epic(id, field(row, 2), field(row, 4));
+            case SUBTASK:
+                requireFields(row, fields, 8);
+                return new SubTask(id, parseInt(row, 5), field(row, 2), field(row, 4),
+                        parseState(row, 3), parseDate(row, 6), parseLong(row, 7));
+            default:
+                requireFields(row, fields, 7);
+                return new Task(id, field(row, 2), field(row, 4),
+                        parseState(row, 3), parseDate(row, 5), parseLong(row, 6));
+        }
+    }
+
+    private int split(String row) {
+        int fields = 0;
+        fieldStarts[fields++] = 0;
+        for (int i = 0; i < row.length() && fields < MAX_FIELDS; i++) {
+            if (row.charAt(i) == DELIMITER_COMMA) {
+                fieldStarts[fields++] = i + 1;
+            }
+        }
+        fieldStarts[fields] = row.length() + 1;
+        return fields;
+    }
+
+    private int start(int field) {
+        return fieldStarts[field];
+    }
+
+    private int end(int field) {
+        return fieldStarts[field + 1] - 1;
+    }
+
+    private boolean isNull(String row, int field) {
+        return end(field) - start(field) == NULL.length() && row.startsWith(NULL, start(field));
+    }
+
+    // Names and descriptions are free text, so a literal "null" there is kept as is.
+    private String field(String row, int field) {
+        return row.substring(start(field), end(field));
+    }
+
+    private int parseInt(String row, int field) {
+        long value = parseLong(row, start(field), end(field));
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Number out of int range in row: " + row);
+        }
+        return (int) value;
+    }
+
+    private Long parseLong(String row, int field) {
+        return isNull(row, field) ? null : parseLong(row, start(field), end(field));
+    }
+
+    // Accumulates negatively so that Long.MIN_VALUE parses and every overflow is caught.
+    private static long parseLong(String row, int start, int end) {
+        boolean isNegative = start < end && row.charAt(start) == '-';
+        int first = isNegative ? start + 1 : start;
+        if (first >= end) {
+            throw new NumberFormatException("Empty number in row: " + row);
+        }
+        long limit = isNegative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (int i = first; i < end; i++) {
+            int digit = digit(row, i);
+            if (value < (limit + digit) / 10) {
+                throw new NumberFormatException("Number out of range in row: " + row);
+            }
+            value = value * 10 - digit;
+        }
+        return isNegative ? value : -value;
+    }
+
+    private static int digit(String row, int index) {
+        int digit = row.charAt(index) - '0';
+        if (digit < 0 || digit > 9) {
+            throw new NumberFormatException("Illegal number in row: " + row);
+        }
+        return digit;
+    }
+
+    private static int twoDigits(String row, int start) {
+        return digit(row, start) * 10 + digit(row, start + 1);
+    }
+
+    private TaskTypes parseType(String row, int field) {
+        for (TaskTypes type : TYPES) {
+            if (matches(row, field, type.name())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task type in row: " + row);
+    }
+
+    private State parseState(String row, int field) {
+        for (State state : STATES) {
+            if (matches(row, field, state.name())) {
+                return state;
+            }
+        }
+        if (isNull(row, field)) {
+            return null;
+        }
+        throw new IllegalArgumentException("Unknown state in row: " + row);
+    }
+
+    private boolean matches(String row, int field, String value) {
+        return end(field) - start(field) == value.length() && row.startsWith(value, start(field));
+    }
+
+    private LocalDateTime parseDate(String row, int field) {
+        if (isNull(row, field)) {
+            return null;
+        }
+        int start = start(field);
+        if (end(field) - start != DATE_LENGTH || row.charAt(start + 2) != '.' || row.charAt(start + 5) != '.'
+                || row.charAt(start + 10) != ' ' || row.charAt(start + 13) != ':') {
+            return LocalDateTime.parse(row.substring(start, end(field)), formatter);
+        }
+        return LocalDateTime.of(
+                twoDigits(row, start + 6) * 100 + twoDigits(row, start + 8),
+                twoDigits(row, start + 3),
+                twoDigits(row, start),
+                twoDigits(row, start + 11),
+                twoDigits(row, start + 14));
+    }
+
+    private static void requireFields(String row, int fields, int expected) {
+        if (fields < expected) {
+            throw new IllegalArgumentException("Not enough fields in row: " + row);
+        }
+    }
+
+    private static StringBuilder appendState(StringBuilder builder, State state) {
+        return builder.append(Objects.isNull(state) ? NULL : state.name());
+    }
+
+    private StringBuilder appendDate(StringBuilder builder, LocalDateTime date) {
+        if (Objects.isNull(date)) {
+            return builder.append(NULL);
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return builder.append(date.format(formatter));
+        }
+        appendTwoDigits(builder, date.getDayOfMonth()).append('.');
+        appendTwoDigits(builder, date.getMonthValue()).append('.');
+        appendTwoDigits(builder, date.getYear() / 100);
+        appendTwoDigits(builder, date.getYear() % 100).append(' ');
+        appendTwoDigits(builder, date.getHour()).append(':');
+        return appendTwoDigits(builder, date.getMinute());
+    }
+
+    private static StringBuilder appendDuration(StringBuilder builder, Task task) {
+        Long duration = task.getDuration();
+        return Objects.isNull(duration) ? builder.append(NULL) : builder.append(duration.longValue());
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        return builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,149 @@
+package implementations.storage;
+
+import implementations.utility.ManagerSaveException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class TaskJournal implements Closeable {
+    public static final String PUT = "PUT";
+    public static final String REMOVE = "DEL";
+    public static final String CLEAR = "CLR";
+    public static final String TRANSACTION = "TX";
+    private static final String DELIMITER_COMMA = ",";
+    private static final char DELIMITER_LENGTH = ':';
+    private final Path journalFile;
+    private final FsyncPolicy fsyncPolicy;
+    private final int maxRecords;
+    private final long maxSize;
+    private GroupCommitWriter writer;
+    private int recordCount;
+    private long size;
+
+    public TaskJournal(Path journalFile, FsyncPolicy fsyncPolicy, int maxRecords, long maxSize) {
+        this.journalFile = journalFile;
+        this.fsyncPolicy = fsyncPolicy;
+        this.maxRecords = maxRecords;
+        this.maxSize = maxSize;
+        writer = openWriter();
+    }
+
+    public List<String> readRecords() {
+        List<String> records = readRecords(journalFile);
+        recordCount = records.size();
+        size = records.stream().mapToLong(TaskJournal::sizeOf).sum();
+        return records;
+    }
+
+    public static List<String> readRecords(Path journalFile) {
+        List<String> records = new ArrayList<>();
+        if (Files.exists(journalFile)) {
+            try (BufferedReader bufferedReader = new BufferedReader(
+                    new FileReader(journalFile.toString(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = bufferedReader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        records.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    public static String record(String operation, Object payload) {
+        return operation + DELIMITER_COMMA + payload;
+    }
+
+    // Count and length prefixed, so a torn transaction line is detected and dropped as a whole.
+    public static String transaction(List<String> records) {
+        StringBuilder builder = new StringBuilder(TRANSACTION).append(DELIMITER_COMMA)
+                .append(records.size()).append(DELIMITER_LENGTH);
+        records.forEach(record -> builder.append(record.length()).append(DELIMITER_LENGTH).append(record));
+        return builder.toString();
+    }
+
+    public static List<String> transactionRecordsOf(String payload) {
+        List<String> records = new ArrayList<>();
+        try {
+            int delimiter = payload.indexOf(DELIMITER_LENGTH);
+            int count = Integer.parseInt(payload.substring(0, delimiter));
+            int position = delimiter + 1;
+            while (position < payload.length()) {
+                delimiter = payload.indexOf(DELIMITER_LENGTH, position);
+                int end = delimiter + 1 + Integer.parseInt(payload.substring(position, delimiter));
+                records.add(payload.substring(delimiter + 1, end));
+                position = end;
+            }
+            return records.size() == count ? records : List.of();
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            return List.of();
+        }
+    }
+
+    public static String operationOf(String record) {
+        return record.substring(0, record.indexOf(DELIMITER_COMMA));
+    }
+
+    public static String payloadOf(String record) {
+        return record.substring(record.indexOf(DELIMITER_COMMA) + 1);
+    }
+
+    public void append(String record) {
+        append(List.of(record));
+    }
+
+    public void append(List<String> records) {
+        List<CompletableFuture<Void>> acknowledgements = new ArrayList<>(records.size());
+        synchronized (this) {
+            for (String record : records) {
+                acknowledgements.add(writer.submit(record));
+                recordCount++;
+                size += sizeOf(record);
+            }
+        }
+        acknowledgements.forEach(GroupCommitWriter::await);
+    }
+
+    public synchronized boolean isCompactionNeeded() {
+        return recordCount >= maxRecords || size >= maxSize;
+    }
+
+    public synchronized void seal(Path sealedFile) {
+        close();
+        try {
+            Files.move(journalFile, sealedFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        } finally {
+            writer = openWriter();
+        }
+        recordCount = 0;
+        size = 0;
+    }
+
+    // The size limit is on the file, so count encoded bytes plus the line break, not chars.
+    private static long sizeOf(String record) {
+        return record.getBytes(StandardCharsets.UTF_8).length + 1;
+    }
+
+    private GroupCommitWriter openWriter() {
+        return new GroupCommitWriter(journalFile, true, fsyncPolicy);
+    }
+
+    @Override
+    public synchronized void close() {
+        writer.close();
+    }
+}
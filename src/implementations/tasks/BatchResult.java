@@ -0,0 +1,56 @@
+package implementations.tasks;
+
+import java.util.Objects;
+
+public class BatchResult {
+    private final Integer id;
+    private final Status status;
+
+    public BatchResult(Integer id, Status status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.REMOVED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchResult that = (BatchResult) o;
+        return Objects.equals(id, that.id) && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "id=" + id +
+                ", status=" + status +
+                '}';
+    }
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REMOVED,
+        NOT_FOUND,
+        OVERLAPPING,
+        INVALID,
+        ABORTED
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 public class Epic extends Task {
     private transient ArrayList<Integer> subTaskArrayList;
     private transient HashMap<State, Integer> stateStatistics;
+    private transient EpicTimeStatistics timeStatistics;
     private transient LocalDateTime endTime;
 
     public Epic(Integer id, String name, String description) {
@@ -32,6 +33,7 @@ public class Epic extends Task {
     public void initialize() {
         setSubTaskArrayList(new ArrayList<>());
         setStateStatistics(new HashMap<>(Map.of(State.NEW, 0, State.IN_PROGRESS, 0, State.DONE, 0)));
+        setTimeStatistics(new EpicTimeStatistics());
     }
 
     public void setSubTaskArrayList(ArrayList<Integer> subTaskArrayList) {
@@ -42,6 +44,10 @@ public class Epic extends Task {
         this.stateStatistics = stateStatistics;
     }
 
+    public void setTimeStatistics(EpicTimeStatistics timeStatistics) {
+        this.timeStatistics = timeStatistics;
+    }
+
     public ArrayList<Integer> getSubTaskArrayList() {
         return subTaskArrayList;
     }
@@ -50,6 +56,10 @@ public class Epic extends Task {
         return stateStatistics;
     }
 
+    public EpicTimeStatistics getTimeStatistics() {
+        return timeStatistics;
+    }
+
     public void updateState() {
         if (stateStatistics.get(State.NEW) == subTaskArrayList.size()) {
             setState(State.NEW);
@@ -60,6 +70,27 @@ public class Epic extends Task {
         }
     }
 
+    public void updateTime() {
+        if (!timeStatistics.isEmpty()) {
+            setStartTime(timeStatistics.getStartTime());
+            setEndTime(timeStatistics.getEndTime());
+            setDuration(timeStatistics.getDuration());
+        }
+    }
+
+    // Shares nothing mutable with this epic, so later subtask changes here never reach the copy.
+    public Epic copy() {
+        Epic copy = new Epic(getId(), getName(), getDescription());
+        copy.setState(getState());
+        copy.setStartTime(getStartTime());
+        copy.setDuration(getDuration());
+        copy.setEndTime(endTime);
+        copy.setSubTaskArrayList(new ArrayList<>(subTaskArrayList));
+        copy.setStateStatistics(new HashMap<>(stateStatistics));
+        copy.setTimeStatistics(timeStatistics.copy());
+        return copy;
+    }
+
     @Override
     public String toString() {
         return super.toString() + " tasks.Epic{" +
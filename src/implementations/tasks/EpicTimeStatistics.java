@@ -0,0 +1,65 @@
+package implementations.tasks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public class EpicTimeStatistics {
+    private final Map<Integer, LocalDateTime[]> subTaskTimes = new HashMap<>();
+    private final TreeMap<LocalDateTime, Integer> startTimes = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Integer> endTimes = new TreeMap<>();
+    private long duration;
+
+    public void add(SubTask subTask) {
+        remove(subTask.getId());
+        if (subTask.isReadyForPrioritizing()) {
+            LocalDateTime startTime = subTask.getStartTime();
+            LocalDateTime endTime = subTask.getEndTime();
+            subTaskTimes.put(subTask.getId(), new LocalDateTime[]{startTime, endTime});
+            startTimes.merge(startTime, 1, Integer::sum);
+            endTimes.merge(endTime, 1, Integer::sum);
+            duration += subTask.getDuration();
+        }
+    }
+
+    public void remove(Integer subTaskId) {
+        LocalDateTime[] times = subTaskTimes.remove(subTaskId);
+        if (Objects.nonNull(times)) {
+            decrement(startTimes, times[0]);
+            decrement(endTimes, times[1]);
+            duration -= Duration.between(times[0], times[1]).toMinutes();
+        }
+    }
+
+    public boolean isEmpty() {
+        return subTaskTimes.isEmpty();
+    }
+
+    public LocalDateTime getStartTime() {
+        return isEmpty() ? null : startTimes.firstKey();
+    }
+
+    public LocalDateTime getEndTime() {
+        return isEmpty() ? null : endTimes.lastKey();
+    }
+
+    public Long getDuration() {
+        return isEmpty() ? null : duration;
+    }
+
+    public EpicTimeStatistics copy() {
+        EpicTimeStatistics copy = new EpicTimeStatistics();
+        copy.subTaskTimes.putAll(subTaskTimes);
+        copy.startTimes.putAll(startTimes);
+        copy.endTimes.putAll(endTimes);
+        copy.duration = duration;
+        return copy;
+    }
+
+    private static void decrement(TreeMap<LocalDateTime, Integer> times, LocalDateTime time) {
+        times.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,184 @@
+package implementations.tasks;
+
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+public class Query {
+    private final Set<TaskTypes> types = EnumSet.allOf(TaskTypes.class);
+    private final List<Order> orders = new ArrayList<>();
+    private State state;
+    private Integer epicId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String namePrefix;
+    private int limit = Integer.MAX_VALUE;
+
+    public Query types(Set<TaskTypes> types) {
+        this.types.clear();
+        this.types.addAll(types.isEmpty() ? EnumSet.allOf(TaskTypes.class) : types);
+        return this;
+    }
+
+    public Query state(State state) {
+        this.state = state;
+        return this;
+    }
+
+    public Query epic(Integer epicId) {
+        this.epicId = epicId;
+        return this;
+    }
+
+    public Query between(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public Query namePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+        return this;
+    }
+
+    public Query orderBy(Field field, boolean descending) {
+        orders.add(new Order(field, descending));
+        return this;
+    }
+
+    public Query limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public Set<TaskTypes> getTypes() {
+        return Collections.unmodifiableSet(types);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Integer getEpicId() {
+        return epicId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public boolean hasTimeRange() {
+        return Objects.nonNull(from) || Objects.nonNull(to);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean matches(Task task) {
+        if (Objects.isNull(task) || !types.contains(TaskTypes.of(task))) {
+            return false;
+        }
+        if (Objects.nonNull(state) && Objects.requireNonNullElse(task.getState(), State.NEW) != state) {
+            return false;
+        }
+        if (Objects.nonNull(epicId)
+                && !(task instanceof SubTask && epicId.equals(((SubTask) task).getEpicID()))) {
+            return false;
+        }
+        if (Objects.nonNull(namePrefix) && (Objects.isNull(task.getName())
+                || !task.getName().regionMatches(true, 0, namePrefix, 0, namePrefix.length()))) {
+            return false;
+        }
+        return !hasTimeRange() || overlapsTimeRange(task);
+    }
+
+    // Half-open like the schedule: a task ending exactly at `from` or starting at `to` is outside.
+    private boolean overlapsTimeRange(Task task) {
+        LocalDateTime start = task.getStartTime();
+        LocalDateTime end = task.getEndTime();
+        if (Objects.isNull(start) || Objects.isNull(end)) {
+            return false;
+        }
+        return (Objects.isNull(to) || start.isBefore(to)) && (Objects.isNull(from) || from.isBefore(end));
+    }
+
+    public boolean isOrderedById() {
+        return orders.isEmpty() || (orders.get(0).field == Field.ID && !orders.get(0).descending);
+    }
+
+    public Comparator<Task> comparator() {
+        Comparator<Task> comparator = (first, second) -> 0;
+        for (Order order : orders) {
+            comparator = comparator.thenComparing(order.comparator());
+        }
+        return comparator.thenComparing(Task::getId);
+    }
+
+    public enum Field {
+        ID("id", Task::getId),
+        TYPE("type", task -> TaskTypes.of(task).name().toLowerCase()),
+        NAME("name", Task::getName),
+        DESCRIPTION("description", Task::getDescription),
+        STATE("state", Task::getState),
+        EPIC("epicID", task -> task instanceof SubTask ? ((SubTask) task).getEpicID() : null),
+        START_TIME("startTime", Task::getStartTime),
+        DURATION("duration", Task::getDuration),
+        END_TIME("endTime", Task::getEndTime);
+
+        private final String fieldName;
+        private final Function<Task, Object> getter;
+
+        Field(String fieldName, Function<Task, Object> getter) {
+            this.fieldName = fieldName;
+            this.getter = getter;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public Object valueOf(Task task) {
+            return getter.apply(task);
+        }
+
+        public static Field of(String fieldName) {
+            for (Field field : values()) {
+                if (field.fieldName.equalsIgnoreCase(fieldName)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field " + fieldName);
+        }
+    }
+
+    private static class Order {
+        private final Field field;
+        private final boolean descending;
+
+        private Order(Field field, boolean descending) {
+            this.field = field;
+            this.descending = descending;
+        }
+
+        // Missing values sort last in either direction.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Comparator<Task> comparator() {
+            Comparator<Comparable> values = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            return Comparator.comparing(task -> (Comparable) field.valueOf(task), Comparator.nullsLast(values));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package implementations.tasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Transaction {
+    private final List<Operation> operations = new ArrayList<>();
+
+    public Transaction create(Task task) {
+        operations.add(new Operation(Operation.Kind.CREATE, task, null));
+        return this;
+    }
+
+    public Transaction update(Task task) {
+        operations.add(new Operation(Operation.Kind.UPDATE, task, null));
+        return this;
+    }
+
+    public Transaction remove(Integer id) {
+        operations.add(new Operation(Operation.Kind.REMOVE, null, id));
+        return this;
+    }
+
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public static class Operation {
+        private final Kind kind;
+        private final Task task;
+        private final Integer id;
+
+        private Operation(Kind kind, Task task, Integer id) {
+            this.kind = kind;
+            this.task = task;
+            this.id = id;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public enum Kind {
+            CREATE,
+            UPDATE,
+            REMOVE
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package implementations.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/*
+ * Multi-producer ring with one delivery thread per listener. Publishing claims a sequence and stores the event
+ * without waiting on anyone; a listener that falls a whole ring behind skips ahead and is told how much it lost.
+ */
+public class EventRing<E> {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private final AtomicReferenceArray<Slot<E>> slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private volatile List<Subscription<E>> subscriptions = List.of();
+
+    public EventRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    public void publish(E event) {
+        long sequence = cursor.getAndIncrement();
+        slots.set((int) sequence & mask, new Slot<>(sequence, event));
+        List<Subscription<E>> current = subscriptions;
+        for (int i = 0; i < current.size(); i++) {
+            current.get(i).wake();
+        }
+    }
+
+    public long getPublished() {
+        return cursor.get();
+    }
+
+    // The listener sees events published after this call, in publication order, on its own daemon thread.
+    public synchronized Subscription<E> subscribe(Listener<? super E> listener) {
+        Subscription<E> subscription = new Subscription<>(this, listener, cursor.get());
+        List<Subscription<E>> updated = new ArrayList<>(subscriptions);
+        updated.add(subscription);
+        subscriptions = List.copyOf(updated);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    public synchronized void close() {
+        subscriptions.forEach(Subscription::stop);
+        subscriptions = List.of();
+    }
+
+    private synchronized void unsubscribe(Subscription<E> subscription) {
+        subscriptions = subscriptions.stream().filter(other -> other != subscription)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public interface Listener<E> {
+        void onEvent(E event);
+
+        default void onLost(long count) {
+        }
+    }
+
+    public static class Subscription<E> implements AutoCloseable {
+        private final EventRing<E> ring;
+        private final Listener<? super E> listener;
+        private final Thread thread;
+        private volatile long position;
+        private volatile boolean waiting;
+        private volatile boolean closed;
+
+        private Subscription(EventRing<E> ring, Listener<? super E> listener, long position) {
+            this.ring = ring;
+            this.listener = listener;
+            this.position = position;
+            thread = new Thread(this::run, "event-ring-listener-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+        }
+
+        // Number of published events this listener has not been handed yet.
+        public long getLag() {
+            return ring.cursor.get() - position;
+        }
+
+        @Override
+        public void close() {
+            ring.unsubscribe(this);
+            stop();
+        }
+
+        private void stop() {
+            closed = true;
+            LockSupport.unpark(thread);
+        }
+
+        private void wake() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void run() {
+            long next = position;
+            while (!closed) {
+                Slot<E> slot = ring.slots.get((int) next & ring.mask);
+                if (Objects.nonNull(slot) && slot.sequence == next) {
+                    deliver(() -> listener.onEvent(slot.event));
+                    position = ++next;
+                } else if (Objects.nonNull(slot) && slot.sequence > next) {
+                    long resume = Math.max(next + 1, ring.cursor.get() - ring.slots.length());
+                    long lost = resume - next;
+                    deliver(() -> listener.onLost(lost));
+                    position = next = resume;
+                } else if (ring.cursor.get() > next) {
+                    Thread.onSpinWait();
+                } else {
+                    await(next);
+                }
+            }
+        }
+
+        // A publisher checks `waiting` after advancing the cursor, so either it sees the flag or we see the event.
+        private void await(long next) {
+            waiting = true;
+            if (ring.cursor.get() <= next && !closed) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+
+        // A failing listener must not stop delivery of the events after it.
+        private static void deliver(Runnable callback) {
+            try {
+                callback.run();
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+
+    private static class Slot<E> {
+        private final long sequence;
+        private final E event;
+
+        private Slot(long sequence, E event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package implementations.utility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/*
+ * Ids are handed out in per-thread blocks from a shared counter. Whenever a block crosses the reserved limit, the
+ * limit moves RESERVATION_SIZE ids ahead and is reported to the listener, so storage writes a watermark only once
+ * per reservation. A restart resumes from that watermark: up to RESERVATION_SIZE ids, plus whatever was left in the
+ * threads' blocks, are skipped and never reused.
+ * advancePast exists for loading stored tasks. It is serialized with other callers, but a thread allocating at the
+ * same moment may still be handed an id at or below the loaded one.
+ */
+public class IdAllocator {
+    public static final int BLOCK_SIZE = 64;
+    public static final int RESERVATION_SIZE = 4096;
+    private final AtomicInteger nextBlock;
+    private final IntConsumer reservationListener;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile int reserved;
+    private volatile int epoch;
+
+    public IdAllocator(int firstId, IntConsumer reservationListener) {
+        this.nextBlock = new AtomicInteger(firstId);
+        this.reservationListener = reservationListener;
+        this.reserved = firstId;
+    }
+
+    public int allocate() {
+        Block block = blocks.get();
+        if (block.next == block.limit || block.epoch != epoch) {
+            block.epoch = epoch;
+            block.next = nextBlock.getAndAdd(BLOCK_SIZE);
+            block.limit = block.next + BLOCK_SIZE;
+            if (block.limit > reserved) {
+                reserve(block.limit);
+            }
+        }
+        return block.next++;
+    }
+
+    public synchronized void advancePast(int id) {
+        if (id >= nextBlock.get()) {
+            nextBlock.accumulateAndGet(id + 1, Math::max);
+            epoch++;
+        }
+    }
+
+    public int getHighWaterMark() {
+        return reserved;
+    }
+
+    private synchronized void reserve(int limit) {
+        if (limit > reserved) {
+            int highWaterMark = limit + RESERVATION_SIZE;
+            reservationListener.accept(highWaterMark);
+            reserved = highWaterMark;
+        }
+    }
+
+    private static class Block {
+        private int next;
+        private int limit;
+        private int epoch;
+    }
+}
@@ -0,0 +1,393 @@
+package implementations.utility;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+public class IntervalTree<V> {
+    private final VersionedIntMap<Long> starts;
+    // Nodes are immutable, so a reader that loads the root once sees a consistent tree without locking.
+    // The id index is updated in place, so everything that touches starts holds the monitor.
+    private volatile Node<V> root;
+
+    public IntervalTree() {
+        this(null, new VersionedIntMap<>());
+    }
+
+    private IntervalTree(Node<V> root, VersionedIntMap<Long> starts) {
+        this.root = root;
+        this.starts = starts;
+    }
+
+    public synchronized IntervalTree<V> snapshot() {
+        return new IntervalTree<>(root, starts.snapshot());
+    }
+
+    public synchronized void put(int id, long start, long end, V value) {
+        remove(id);
+        root = insert(root, new Node<>(id, start, end, value, ThreadLocalRandom.current().nextInt(), null, null));
+        starts.put(id, start);
+    }
+
+    public synchronized V remove(int id) {
+        Long start = starts.remove(id);
+        if (Objects.isNull(start)) {
+            return null;
+        }
+        Node<V> node = find(root, id, start);
+        root = delete(root, id, start);
+        return node.value;
+    }
+
+    // Rebuilds the survivors once instead of deleting node by node; returns how many values were removed.
+    public synchronized int removeIf(Predicate<? super V> filter) {
+        Node<V> snapshot = root;
+        List<Node<V>> kept = new ArrayList<>(Objects.isNull(snapshot) ? 0 : snapshot.size);
+        int removed = collectNodes(snapshot, filter, kept);
+        if (removed == 0) {
+            return 0;
+        }
+        if (kept.isEmpty()) {
+            clear();
+            return removed;
+        }
+        int[] priorities = ThreadLocalRandom.current().ints(kept.size()).sorted().toArray();
+        root = build(kept, 0, kept.size(), priorities, new int[]{priorities.length - 1});
+        return removed;
+    }
+
+    public synchronized boolean contains(int id) {
+        return starts.containsKey(id);
+    }
+
+    public V findOverlap(long start, long end) {
+        Node<V> node = root;
+        while (Objects.nonNull(node) && !node.overlaps(start, end)) {
+            if (Objects.nonNull(node.left) && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return Objects.isNull(node) ? null : node.value;
+    }
+
+    public List<V> findAllOverlaps(long start, long end) {
+        List<V> overlaps = new ArrayList<>();
+        collectOverlaps(root, start, end, overlaps);
+        return overlaps;
+    }
+
+    // Stops counting at limit, so probing a wide window costs no more than the caller is willing to spend.
+    public int countOverlaps(long start, long end, int limit) {
+        return countOverlaps(root, start, end, limit, 0);
+    }
+
+    public List<long[]> findGaps(long from, long to, long minLength) {
+        List<long[]> gaps = new ArrayList<>();
+        long minimum = Math.max(1, minLength);
+        long cursor = collectGaps(root, to, minimum, from, gaps);
+        if (to - cursor >= minimum) {
+            gaps.add(new long[]{cursor, to});
+        }
+        return gaps;
+    }
+
+    public List<V> values() {
+        Node<V> snapshot = root;
+        List<V> values = new ArrayList<>(Objects.isNull(snapshot) ? 0 : snapshot.size);
+        collectValues(snapshot, values);
+        return values;
+    }
+
+    // In-order over the root seen now; later writes build new nodes and never disturb the walk.
+    public Collection<V> view() {
+        Node<V> snapshot = root;
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator<>(snapshot);
+            }
+
+            @Override
+            public int size() {
+                return Objects.isNull(snapshot) ? 0 : snapshot.size;
+            }
+        };
+    }
+
+    public int size() {
+        Node<V> snapshot = root;
+        return Objects.isNull(snapshot) ? 0 : snapshot.size;
+    }
+
+    public synchronized void clear() {
+        root = null;
+        starts.clear();
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Node<V> inserted) {
+        if (Objects.isNull(node)) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node<V>[] parts = split(node, inserted.start, inserted.id);
+            return inserted.with(parts[0], parts[1]);
+        }
+        if (compare(inserted.start, inserted.id, node.start, node.id) < 0) {
+            return node.with(insert(node.left, inserted), node.right);
+        } else {
+            return node.with(node.left, insert(node.right, inserted));
+        }
+    }
+
+    private static <V> Node<V> delete(Node<V> node, int id, long start) {
+        if (Objects.isNull(node)) {
+            return null;
+        }
+        int comparison = compare(start, id, node.start, node.id);
+        if (comparison < 0) {
+            return node.with(delete(node.left, id, start), node.right);
+        } else if (comparison > 0) {
+            return node.with(node.left, delete(node.right, id, start));
+        } else {
+            return merge(node.left, node.right);
+        }
+    }
+
+    private static <V> Node<V> find(Node<V> node, int id, long start) {
+        while (Objects.nonNull(node)) {
+            int comparison = compare(start, id, node.start, node.id);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V>[] split(Node<V> node, long start, int id) {
+        if (Objects.isNull(node)) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.start, node.id, start, id) < 0) {
+            Node<V>[] parts = split(node.right, start, id);
+            parts[0] = node.with(node.left, parts[0]);
+            return parts;
+        } else {
+            Node<V>[] parts = split(node.left, start, id);
+            parts[1] = node.with(parts[1], node.right);
+            return parts;
+        }
+    }
+
+    private static <V> Node<V> merge(Node<V> left, Node<V> right) {
+        if (Objects.isNull(left)) {
+            return right;
+        }
+        if (Objects.isNull(right)) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        } else {
+            return right.with(merge(left, right.left), right.right);
+        }
+    }
+
+    private static <V> void collectOverlaps(Node<V> node, long start, long end, List<V> overlaps) {
+        if (Objects.isNull(node) || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlaps(node.left, start, end, overlaps);
+        if (node.start < end) {
+            if (node.overlaps(start, end)) {
+                overlaps.add(node.value);
+            }
+            collectOverlaps(node.right, start, end, overlaps);
+        }
+    }
+
+    private static <V> int countOverlaps(Node<V> node, long start, long end, int limit, int count) {
+        if (Objects.isNull(node) || node.maxEnd <= start || count >= limit) {
+            return count;
+        }
+        count = countOverlaps(node.left, start, end, limit, count);
+        if (node.start < end && count < limit) {
+            if (node.overlaps(start, end)) {
+                count++;
+            }
+            count = countOverlaps(node.right, start, end, limit, count);
+        }
+        return count;
+    }
+
+    private static <V> long collectGaps(Node<V> node, long to, long minLength, long cursor, List<long[]> gaps) {
+        if (Objects.isNull(node) || node.minStart >= to || node.busyEnd <= cursor) {
+            return cursor;
+        }
+        if (node.maxGap < minLength && node.minStart - cursor < minLength) {
+            return Math.max(cursor, node.busyEnd);
+        }
+        cursor = collectGaps(node.left, to, minLength, cursor, gaps);
+        if (node.start >= to) {
+            return cursor;
+        }
+        if (node.start < node.end) {
+            if (node.start - cursor >= minLength) {
+                gaps.add(new long[]{cursor, node.start});
+            }
+            cursor = Math.max(cursor, node.end);
+        }
+        return collectGaps(node.right, to, minLength, cursor, gaps);
+    }
+
+    private static <V> void collectValues(Node<V> node, List<V> values) {
+        if (Objects.nonNull(node)) {
+            collectValues(node.left, values);
+            values.add(node.value);
+            collectValues(node.right, values);
+        }
+    }
+
+    private int collectNodes(Node<V> node, Predicate<? super V> filter, List<Node<V>> kept) {
+        if (Objects.isNull(node)) {
+            return 0;
+        }
+        int removed = collectNodes(node.left, filter, kept);
+        if (filter.test(node.value)) {
+            starts.remove(node.id);
+            removed++;
+        } else {
+            kept.add(node);
+        }
+        return removed + collectNodes(node.right, filter, kept);
+    }
+
+    // Priorities are handed out largest first in pre-order, so every parent outranks its children.
+    private static <V> Node<V> build(List<Node<V>> nodes, int from, int to, int[] priorities, int[] next) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        int priority = priorities[next[0]--];
+        Node<V> left = build(nodes, from, middle, priorities, next);
+        Node<V> right = build(nodes, middle + 1, to, priorities, next);
+        Node<V> node = nodes.get(middle);
+        return new Node<>(node.id, node.start, node.end, node.value, priority, left, right);
+    }
+
+    private static int compare(long firstStart, int firstId, long secondStart, int secondId) {
+        int comparison = Long.compare(firstStart, secondStart);
+        return comparison != 0 ? comparison : Integer.compare(firstId, secondId);
+    }
+
+    private static class ValueIterator<V> implements Iterator<V> {
+        private final Deque<Node<V>> path = new ArrayDeque<>();
+
+        private ValueIterator(Node<V> root) {
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<V> node = path.pop();
+            pushLeft(node.right);
+            return node.value;
+        }
+
+        private void pushLeft(Node<V> node) {
+            for (; Objects.nonNull(node); node = node.left) {
+                path.push(node);
+            }
+        }
+    }
+
+    private static class Node<V> {
+        private static final long NO_START = Long.MAX_VALUE;
+        private static final long NO_END = Long.MIN_VALUE;
+        private final int id;
+        private final long start;
+        private final long end;
+        private final V value;
+        private final int priority;
+        private final Node<V> left;
+        private final Node<V> right;
+        private final long minStart;
+        private final long maxEnd;
+        private final long busyEnd;
+        private final long maxGap;
+        private final int size;
+
+        private Node(int id, long start, long end, V value, int priority, Node<V> left, Node<V> right) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            long maxEnd = end;
+            int size = 1;
+            if (Objects.nonNull(left)) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+                size += left.size;
+            }
+            if (Objects.nonNull(right)) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+                size += right.size;
+            }
+            this.maxEnd = maxEnd;
+            this.size = size;
+
+            // Empty intervals never occupy time, so the gap aggregates skip them.
+            long minStart = NO_START;
+            long busyEnd = NO_END;
+            long maxGap = 0;
+            if (Objects.nonNull(left) && left.minStart != NO_START) {
+                minStart = left.minStart;
+                busyEnd = left.busyEnd;
+                maxGap = left.maxGap;
+            }
+            if (start < end) {
+                maxGap = busyEnd == NO_END ? maxGap : Math.max(maxGap, start - busyEnd);
+                minStart = Math.min(minStart, start);
+                busyEnd = Math.max(busyEnd, end);
+            }
+            if (Objects.nonNull(right) && right.minStart != NO_START) {
+                maxGap = busyEnd == NO_END ? right.maxGap
+                        : Math.max(maxGap, Math.max(right.maxGap, right.minStart - busyEnd));
+                minStart = Math.min(minStart, right.minStart);
+                busyEnd = Math.max(busyEnd, right.busyEnd);
+            }
+            this.minStart = minStart;
+            this.busyEnd = busyEnd;
+            this.maxGap = maxGap;
+        }
+
+        private Node<V> with(Node<V> left, Node<V> right) {
+            return new Node<>(id, start, end, value, priority, left, right);
+        }
+
+        private boolean overlaps(long otherStart, long otherEnd) {
+            return start < otherEnd && otherStart < end;
+        }
+    }
+}
@@ -1,16 +1,54 @@
 package implementations.utility;
 
+import implementations.dispatchers.ConcurrentTaskManager;
 import implementations.dispatchers.InMemoryHistoryManager;
 import implementations.dispatchers.InMemoryTaskManager;
+import implementations.storage.BinarySnapshotStorageEngine;
+import implementations.storage.CsvStorageEngine;
+import implementations.storage.FsyncPolicy;
+import implementations.storage.InMemoryStorageEngine;
+import implementations.storage.JournalStorageEngine;
+import implementations.storage.StorageBackend;
 import interfaces.HistoryManager;
+import interfaces.StorageEngine;
 import interfaces.TaskManager;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class Managers {
+    public static final String STORAGE_PROPERTY = "kanban.storage";
+    public static final String STORAGE_FILE_PROPERTY = "kanban.storage.file";
+    private static final String DEFAULT_STORAGE_FILE = "tasks.csv";
+
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
 
     public static TaskManager getDefault() {
-        return new InMemoryTaskManager();
+        return new InMemoryTaskManager(getDefaultStorage());
+    }
+
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager(getDefaultStorage());
+    }
+
+    public static StorageEngine getDefaultStorage() {
+        StorageBackend backend = StorageBackend.valueOf(
+                System.getProperty(STORAGE_PROPERTY, StorageBackend.MEMORY.name()).toUpperCase());
+        return getStorage(backend, Paths.get(System.getProperty(STORAGE_FILE_PROPERTY, DEFAULT_STORAGE_FILE)));
+    }
+
+    public static StorageEngine getStorage(StorageBackend backend, Path file) {
+        switch (backend) {
+            case CSV:
+                return new CsvStorageEngine(file, FsyncPolicy.osManaged());
+            case JOURNAL:
+                return new JournalStorageEngine(file, FsyncPolicy.osManaged());
+            case SNAPSHOT:
+                return new BinarySnapshotStorageEngine(file, FsyncPolicy.osManaged());
+            default:
+                return new InMemoryStorageEngine();
+        }
     }
-}
\ No newline at end of file
+}
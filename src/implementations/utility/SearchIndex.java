@@ -0,0 +1,135 @@
+package implementations.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+public class SearchIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Comparator<Hit> BY_RANK = Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+            .thenComparingInt(hit -> hit.id);
+    private final Map<String, IntObjectHashMap<Integer>> postings = new HashMap<>();
+    private final IntObjectHashMap<String[]> documentTerms = new IntObjectHashMap<>();
+
+    public void put(int id, String name, String description) {
+        remove(id);
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        tokenize(name).forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        String[] terms = new String[frequencies.size()];
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            IntObjectHashMap<Integer> termPostings = postings.computeIfAbsent(entry.getKey(),
+                    term -> new IntObjectHashMap<>());
+            termPostings.put(id, entry.getValue());
+            terms[index++] = entry.getKey();
+        }
+        documentTerms.put(id, terms);
+    }
+
+    public void remove(int id) {
+        String[] terms = documentTerms.remove(id);
+        if (Objects.isNull(terms)) {
+            return;
+        }
+        for (String term : terms) {
+            IntObjectHashMap<Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        documentTerms.clear();
+    }
+
+    public int size() {
+        return documentTerms.size();
+    }
+
+    // Every query term must match; candidates come from the rarest term, ranked by weighted tf-idf.
+    public List<Integer> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().collect(Collectors.toList());
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<IntObjectHashMap<Integer>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            IntObjectHashMap<Integer> matches = postings.get(term);
+            if (Objects.isNull(matches)) {
+                return List.of();
+            }
+            termPostings.add(matches);
+        }
+        termPostings.sort(Comparator.comparingInt(IntObjectHashMap::size));
+        double[] inverseFrequencies = new double[termPostings.size()];
+        for (int i = 0; i < inverseFrequencies.length; i++) {
+            inverseFrequencies[i] = Math.log(1 + (double) documentTerms.size() / termPostings.get(i).size());
+        }
+
+        PriorityQueue<Hit> topHits = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        for (int id : termPostings.get(0).keys()) {
+            double score = 0;
+            for (int i = 0; i < inverseFrequencies.length && score >= 0; i++) {
+                Integer frequency = termPostings.get(i).get(id);
+                score = Objects.isNull(frequency) ? -1 : score + frequency * inverseFrequencies[i];
+            }
+            if (score >= 0) {
+                topHits.add(new Hit(id, score));
+                if (topHits.size() > limit) {
+                    topHits.poll();
+                }
+            }
+        }
+        return topHits.stream().sorted(BY_RANK).map(hit -> hit.id).collect(Collectors.toList());
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (Objects.isNull(text)) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (Character.isLetterOrDigit(character)) {
+                token.append(normalize(character));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static char normalize(char character) {
+        char lowerCase = Character.toLowerCase(character);
+        return lowerCase == 'ё' ? 'е' : lowerCase;
+    }
+
+    private static class Hit {
+        private final int id;
+        private final double score;
+
+        private Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package implementations.utility;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class StateIndex {
+    private final Map<State, Set<Integer>> idsByState = new EnumMap<>(State.class);
+    private final IntObjectHashMap<State> states = new IntObjectHashMap<>();
+
+    public StateIndex() {
+        for (State state : State.values()) {
+            idsByState.put(state, new LinkedHashSet<>());
+        }
+    }
+
+    public void put(int id, State state) {
+        if (Objects.isNull(state)) {
+            remove(id);
+            return;
+        }
+        State previousState = states.put(id, state);
+        if (previousState != state) {
+            if (Objects.nonNull(previousState)) {
+                idsByState.get(previousState).remove(id);
+            }
+            idsByState.get(state).add(id);
+        }
+    }
+
+    public void remove(int id) {
+        State previousState = states.remove(id);
+        if (Objects.nonNull(previousState)) {
+            idsByState.get(previousState).remove(id);
+        }
+    }
+
+    public Set<Integer> get(State state) {
+        return Collections.unmodifiableSet(idsByState.get(state));
+    }
+
+    public int size(State state) {
+        return idsByState.get(state).size();
+    }
+
+    public void clear() {
+        idsByState.values().forEach(Set::clear);
+        states.clear();
+    }
+}
@@ -1,7 +1,21 @@
 package implementations.utility;
 
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+
 public enum TaskTypes {
     TASK,
     EPIC,
-    SUBTASK
+    SUBTASK;
+
+    public static TaskTypes of(Task task) {
+        if (task instanceof Epic) {
+            return EPIC;
+        } else if (task instanceof SubTask) {
+            return SUBTASK;
+        } else {
+            return TASK;
+        }
+    }
 }
@@ -0,0 +1,303 @@
+package implementations.utility;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/*
+ * Radix trie over the unsigned key, 32 slots per node. Nodes belong to the map that created them and are
+ * updated in place; snapshot() hands ownership to neither side, so the next write on either copies its path
+ * once and everything the snapshot can reach stays frozen. snapshot() and view() only mark the nodes as
+ * shared, so they may run alongside each other, but not alongside a write.
+ */
+public class VersionedIntMap<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int MAX_SHIFT = 30;
+    private Object edit = new Object();
+    private volatile boolean isShared;
+    private Node root;
+    private int shift;
+    private int size;
+
+    public VersionedIntMap() {
+    }
+
+    private VersionedIntMap(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    public VersionedIntMap<V> snapshot() {
+        isShared = true;
+        return new VersionedIntMap<>(root, shift, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (Objects.isNull(root) || !fits(key)) {
+            return null;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.slots[(key >>> level) & MASK];
+            if (Objects.isNull(node)) {
+                return null;
+            }
+        }
+        return (V) node.slots[key & MASK];
+    }
+
+    public boolean containsKey(int key) {
+        return Objects.nonNull(get(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        claimNodes();
+        if (Objects.isNull(root)) {
+            root = new Node(edit);
+            shift = 0;
+        }
+        while (!fits(key)) {
+            Node grown = new Node(edit);
+            grown.slots[0] = root;
+            root = grown;
+            shift += BITS;
+        }
+        Node node = root = editable(root);
+        for (int level = shift; level > 0; level -= BITS) {
+            int index = (key >>> level) & MASK;
+            Node child = (Node) node.slots[index];
+            child = Objects.isNull(child) ? new Node(edit) : editable(child);
+            node.slots[index] = child;
+            node = child;
+        }
+        V previous = (V) node.slots[key & MASK];
+        node.slots[key & MASK] = value;
+        if (Objects.isNull(previous)) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V remove(int key) {
+        V previous = get(key);
+        if (Objects.isNull(previous)) {
+            return null;
+        }
+        claimNodes();
+        Node[] path = new Node[shift / BITS + 1];
+        Node node = root = editable(root);
+        path[0] = node;
+        for (int level = shift, depth = 1; level > 0; level -= BITS, depth++) {
+            int index = (key >>> level) & MASK;
+            node = editable((Node) node.slots[index]);
+            path[depth - 1].slots[index] = node;
+            path[depth] = node;
+        }
+        node.slots[key & MASK] = null;
+        for (int depth = path.length - 1, level = 0; depth > 0 && path[depth].isEmpty(); depth--, level += BITS) {
+            path[depth - 1].slots[(key >>> (level + BITS)) & MASK] = null;
+        }
+        if (--size == 0) {
+            root = null;
+            shift = 0;
+        }
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        shift = 0;
+        size = 0;
+    }
+
+    public int[] keys() {
+        int[] keys = new int[size];
+        int[] index = new int[1];
+        forEachEntry(root, shift, 0, (key, value) -> keys[index[0]++] = key);
+        return keys;
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach(values::add);
+        return values;
+    }
+
+    // Freezes the current contents in O(1): the next write here copies its path instead of the caller copying now.
+    public Collection<V> view() {
+        VersionedIntMap<V> snapshot = snapshot();
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return snapshot.new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return snapshot.size;
+            }
+        };
+    }
+
+    // Walks only the path to fromKey and then whole subtrees to its right, so a page costs depth + limit.
+    public List<V> valuesFrom(int fromKey, int limit) {
+        List<V> values = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        if (limit > 0 && Objects.nonNull(root) && fits(fromKey)) {
+            collectFrom(root, shift, fromKey, true, limit, values);
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> action) {
+        forEachEntry(root, shift, 0, (key, value) -> action.accept((V) value));
+    }
+
+    private boolean fits(int key) {
+        return shift >= MAX_SHIFT || (key >>> (shift + BITS)) == 0;
+    }
+
+    // The writer takes a fresh token once per snapshot, so nodes reachable from a snapshot are never edited again.
+    private void claimNodes() {
+        if (isShared) {
+            edit = new Object();
+            isShared = false;
+        }
+    }
+
+    private Node editable(Node node) {
+        return node.edit == edit ? node : new Node(edit, node.slots.clone());
+    }
+
+    private static void forEachEntry(Node node, int level, int prefix, EntryConsumer action) {
+        if (Objects.isNull(node)) {
+            return;
+        }
+        for (int index = 0; index < WIDTH; index++) {
+            Object slot = node.slots[index];
+            if (Objects.nonNull(slot)) {
+                int key = prefix | (index << level);
+                if (level == 0) {
+                    action.accept(key, slot);
+                } else {
+                    forEachEntry((Node) slot, level - BITS, key, action);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void collectFrom(Node node, int level, int fromKey, boolean bounded, int limit,
+                                        List<V> values) {
+        int boundIndex = (fromKey >>> level) & MASK;
+        for (int index = bounded ? boundIndex : 0; index < WIDTH && values.size() < limit; index++) {
+            Object slot = node.slots[index];
+            if (Objects.isNull(slot)) {
+                continue;
+            }
+            if (level == 0) {
+                values.add((V) slot);
+            } else {
+                collectFrom((Node) slot, level - BITS, fromKey, bounded && index == boundIndex, limit, values);
+            }
+        }
+    }
+
+    private class ValueIterator implements Iterator<V> {
+        private final Node[] nodes = new Node[shift / BITS + 1];
+        private final int[] indexes = new int[nodes.length];
+        private int depth;
+        private Object next;
+
+        private ValueIterator() {
+            nodes[0] = root;
+            depth = Objects.isNull(root) ? -1 : 0;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return Objects.nonNull(next);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (Objects.isNull(next)) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) next;
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                if (indexes[depth] == WIDTH) {
+                    if (--depth >= 0) {
+                        indexes[depth]++;
+                    }
+                    continue;
+                }
+                Object slot = nodes[depth].slots[indexes[depth]];
+                if (Objects.isNull(slot)) {
+                    indexes[depth]++;
+                } else if (depth == nodes.length - 1) {
+                    indexes[depth]++;
+                    next = slot;
+                    return;
+                } else {
+                    nodes[++depth] = (Node) slot;
+                    indexes[depth] = 0;
+                }
+            }
+        }
+    }
+
+    private interface EntryConsumer {
+        void accept(int key, Object value);
+    }
+
+    private static class Node {
+        private final Object edit;
+        private final Object[] slots;
+
+        private Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+
+        private Node(Object edit, Object[] slots) {
+            this.edit = edit;
+            this.slots = slots;
+        }
+
+        private boolean isEmpty() {
+            for (Object slot : slots) {
+                if (Objects.nonNull(slot)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
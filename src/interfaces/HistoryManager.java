@@ -3,11 +3,16 @@ package interfaces;
 import implementations.tasks.Task;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface HistoryManager {
     void addTask(Task task);
 
     void remove(Integer id);
 
+    void removeIf(Predicate<? super Task> filter);
+
     List<Task> getHistory();
+
+    List<Task> viewHistory();
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package interfaces;
+
+import implementations.storage.Board;
+import implementations.storage.ChangeEvent;
+
+import java.io.Closeable;
+import java.util.List;
+
+public interface StorageEngine extends Closeable {
+    Board load();
+
+    void apply(ChangeEvent event, TaskManager board);
+
+    default void applyAll(List<ChangeEvent> events, TaskManager board) {
+        events.forEach(event -> apply(event, board));
+    }
+
+    default void applyTransaction(List<ChangeEvent> events, TaskManager board) {
+        applyAll(events, board);
+    }
+
+    default void reserveIds(int highWaterMark) {
+    }
+
+    @Override
+    void close();
+}
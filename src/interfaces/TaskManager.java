@@ -1,23 +1,44 @@
 package interfaces;
 
+import implementations.storage.ChangeEvent;
+import implementations.tasks.BatchResult;
 import implementations.tasks.Epic;
+import implementations.tasks.Query;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
+import implementations.tasks.Transaction;
+import implementations.utility.EventRing;
+import implementations.utility.State;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.TreeSet;
+import java.util.function.Function;
 
 public interface TaskManager {
     Optional<Task> createTask(Task task);
 
     boolean updateTask(Task task);
 
+    List<BatchResult> createAll(List<? extends Task> tasks);
+
+    List<BatchResult> updateAll(List<? extends Task> tasks);
+
+    List<BatchResult> commit(Transaction transaction);
+
     Optional<Task> getTaskById(int id);
 
     ArrayList<Task> getAllTasks();
 
+    Collection<Task> viewAllTasks();
+
+    List<Task> getTasksByState(State state);
+
+    List<Task> getTasksAfter(int after, int limit);
+
     void removeAllTasks();
 
     Task removeTaskById(Integer id);
@@ -30,6 +51,12 @@ public interface TaskManager {
 
     List<Epic> getAllEpics();
 
+    Collection<Epic> viewAllEpics();
+
+    List<Epic> getEpicsByState(State state);
+
+    List<Epic> getEpicsAfter(int after, int limit);
+
     void removeAllEpics();
 
     Epic removeEpicById(Integer id);
@@ -44,11 +71,31 @@ public interface TaskManager {
 
     List<SubTask> getAllSubTasks();
 
+    Collection<SubTask> viewAllSubTasks();
+
+    List<SubTask> getSubTasksByState(State state);
+
+    List<SubTask> getSubTasksAfter(int after, int limit);
+
     SubTask removeSubTaskById(Integer id);
 
     void removeAllSubTasks();
 
     List<Task> getHistoryManager();
 
-    TreeSet<Task> getPrioritizedTasks();
+    List<Task> viewHistory();
+
+    List<Task> getPrioritizedTasks();
+
+    Collection<Task> viewPrioritizedTasks();
+
+    List<Task> search(String query, int limit);
+
+    List<Task> query(Query query);
+
+    <R> List<R> query(Query query, Function<? super Task, ? extends R> projection);
+
+    List<TimeSlot> getFreeSlots(LocalDateTime from, LocalDateTime to, long minDuration);
+
+    EventRing.Subscription<ChangeEvent> subscribe(EventRing.Listener<? super ChangeEvent> listener);
 }
\ No newline at end of file
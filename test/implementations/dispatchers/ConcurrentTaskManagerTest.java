@@ -0,0 +1,121 @@
+package implementations.dispatchers;
+
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.Managers;
+import implementations.utility.State;
+import interfaces.TaskManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<TaskManager> {
+    private static final int THREADS = 8;
+    private final LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Override
+    public TaskManager getTaskManager() {
+        return Managers.getConcurrent();
+    }
+
+    @Test
+    public void epicKeepsStateAndTimeOfItsSubTasks() {
+        Epic epic = new Epic("Epic", "Description");
+        taskManager.createEpic(epic);
+        SubTask first = new SubTask(epic.getId(), "First", "Description", State.DONE, day.plusHours(9), 60L);
+        SubTask second = new SubTask(epic.getId(), "Second", "Description", State.NEW, day.plusHours(12), 30L);
+        taskManager.createSubTask(first);
+        taskManager.createSubTask(second);
+
+        assertEquals(State.IN_PROGRESS, epic.getState());
+        assertEquals(90L, epic.getDuration());
+        assertEquals(List.of(first, second), taskManager.getAllSubTasksFromEpic(epic));
+
+        assertTrue(taskManager.updateSubTask(new SubTask(second.getId(), epic.getId(), "Second", "Description",
+                State.DONE, day.plusHours(12), 30L)));
+
+        assertEquals(State.DONE, epic.getState());
+        assertFalse(taskManager.updateSubTask(new SubTask(second.getId(), epic.getId(), "Second", "Description",
+                State.DONE, day.plusHours(9).plusMinutes(30), 30L)));
+        assertEquals(List.of(first, second), taskManager.getPrioritizedTasks());
+
+        taskManager.removeEpicById(epic.getId());
+
+        assertTrue(taskManager.getAllSubTasks().isEmpty());
+        assertTrue(taskManager.getPrioritizedTasks().isEmpty());
+    }
+
+    @Test
+    public void handedOutEpicsAreCopies() {
+        Epic epic = new Epic("Epic", "Description");
+        taskManager.createEpic(epic);
+        taskManager.createSubTask(new SubTask(epic.getId(), "First", "Description", State.NEW,
+                day.plusHours(9), 60L));
+        Epic handedOut = taskManager.getEpicById(epic.getId()).orElseThrow();
+
+        taskManager.createSubTask(new SubTask(epic.getId(), "Second", "Description", State.DONE,
+                day.plusHours(12), 60L));
+
+        assertNotSame(epic, handedOut);
+        assertEquals(State.NEW, handedOut.getState());
+        assertEquals(1, handedOut.getSubTaskArrayList().size());
+        assertEquals(State.IN_PROGRESS, taskManager.getAllEpics().get(0).getState());
+        assertEquals(2, taskManager.getAllSubTasksFromEpic(handedOut).size());
+    }
+
+    @Test
+    public void parallelWritersNeverDoubleBookASlot() throws Exception {
+        List<Epic> epics = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Epic epic = new Epic("Epic " + i, "Description");
+            taskManager.createEpic(epic);
+            epics.add(epic);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Epic epic = epics.get(thread);
+            results.add(executor.submit(() -> {
+                start.await();
+                int created = 0;
+                for (int slot = 0; slot < 200; slot++) {
+                    LocalDateTime startTime = day.plusMinutes(slot * 30L);
+                    if (taskManager.createSubTask(new SubTask(epic.getId(), "SubTask", "Description",
+                            State.NEW, startTime, 30L)).isPresent()) {
+                        created++;
+                    }
+                    taskManager.getSubTaskById(slot);
+                    taskManager.getPrioritizedTasks();
+                }
+                return created;
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<Integer> result : results) {
+            created += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Task> prioritized = taskManager.getPrioritizedTasks();
+
+        assertEquals(200, created);
+        assertEquals(200, prioritized.size());
+        assertEquals(200, prioritized.stream().map(Task::getStartTime).collect(Collectors.toSet()).size());
+        assertEquals(200, epics.stream().mapToInt(epic -> epic.getSubTaskArrayList().size()).sum());
+        assertEquals(200, epics.stream().mapToInt(epic -> taskManager.getAllSubTasksFromEpic(epic).size()).sum());
+    }
+}
@@ -1,8 +1,11 @@
 package implementations.dispatchers;
 
+import implementations.storage.FsyncPolicy;
 import implementations.tasks.Epic;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.Transaction;
+import implementations.utility.ManagerSaveException;
 import implementations.utility.State;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -12,6 +15,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +43,8 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
     @AfterEach
     public void clearAll() throws IOException {
         Files.deleteIfExists(temporaryFile);
+        Files.deleteIfExists(Paths.get(temporaryFile + ".history"));
+        Files.deleteIfExists(Paths.get(temporaryFile + ".ids"));
     }
 
     @Test
@@ -103,42 +109,36 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
     @Test
     public void historyCheck() throws IOException {
         initializeTasks();
+        String dataBeforeReads = Files.readString(temporaryFile);
 
         taskManager.getTaskById(task.getId());
         taskManager.getEpicById(epic.getId());
         taskManager.getSubTaskById(firstSubTask.getId());
 
-        LinkedList<String> linesFromFile = new LinkedList<>(List.of(Files.readString(temporaryFile).split(DELIMITER)));
-
-        Assertions.assertEquals(
-                Stream.of(task.getId(), epic.getId(), firstSubTask.getId()).map(String::valueOf).
-                        collect(Collectors.joining(DELIMITER_COMMA)),
-                linesFromFile.getLast());
+        Assertions.assertEquals(dataBeforeReads, Files.readString(temporaryFile));
+        Assertions.assertEquals(List.of(task, epic, firstSubTask),
+                FileBackedTaskManager.loadFromFile(temporaryFile).getHistoryManager());
 
         taskManager.getTaskById(task.getId());
-        linesFromFile = new LinkedList<>(List.of(Files.readString(temporaryFile).split(DELIMITER)));
 
-        Assertions.assertEquals(
-                Stream.of(epic.getId(), firstSubTask.getId(), task.getId()).map(String::valueOf).
-                        collect(Collectors.joining(DELIMITER_COMMA)),
-                linesFromFile.getLast());
+        Assertions.assertEquals(List.of(epic, firstSubTask, task),
+                FileBackedTaskManager.loadFromFile(temporaryFile).getHistoryManager());
 
         taskManager.getSubTaskById(firstSubTask.getId());
         taskManager.getEpicById(epic.getId());
-        linesFromFile = new LinkedList<>(List.of(Files.readString(temporaryFile).split(DELIMITER)));
 
-        Assertions.assertEquals(
-                Stream.of(task.getId(), firstSubTask.getId(), epic.getId()).map(String::valueOf).
-                        collect(Collectors.joining(DELIMITER_COMMA)),
-                linesFromFile.getLast());
+        Assertions.assertEquals(List.of(task, firstSubTask, epic),
+                FileBackedTaskManager.loadFromFile(temporaryFile).getHistoryManager());
 
         taskManager.removeAllSubTasks();
-        linesFromFile = new LinkedList<>(List.of(Files.readString(temporaryFile).split(DELIMITER)));
+        LinkedList<String> linesFromFile = new LinkedList<>(List.of(Files.readString(temporaryFile).split(DELIMITER)));
 
         Assertions.assertEquals(
                 Stream.of(task.getId(), epic.getId()).map(String::valueOf).
                         collect(Collectors.joining(DELIMITER_COMMA)),
                 linesFromFile.getLast());
+        Assertions.assertEquals(List.of(task, epic),
+                FileBackedTaskManager.loadFromFile(temporaryFile).getHistoryManager());
     }
 
     @Test
@@ -163,5 +163,220 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         Assertions.assertEquals(1, task.getId());
         Assertions.assertEquals("Task", task.getName());
         Assertions.assertEquals("Description task", task.getDescription());
+        Assertions.assertDoesNotThrow(() -> Files.deleteIfExists(Paths.get(dataFile + ".history")),
+                "Ошибка удаления файла");
+    }
+
+    @Test
+    public void restoreDataFromJournal() throws IOException {
+        Path journalFile = Files.createTempFile("journal", "log");
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromJournal(journalFile);
+
+        task = new Task("Task", "Description task", State.NEW);
+        epic = new Epic("Epic", "Description epic");
+        journalManager.createTask(task);
+        journalManager.createEpic(epic);
+        firstSubTask = new SubTask(epic.getId(), "SubTask", "Description subtask", State.DONE);
+        journalManager.createSubTask(firstSubTask);
+        journalManager.updateTask(new Task(task.getId(), "Updated task", "Description task", State.DONE, null, null));
+        journalManager.getSubTaskById(firstSubTask.getId());
+        journalManager.getTaskById(task.getId());
+        journalManager.close();
+
+        Assertions.assertEquals(4, Files.readAllLines(journalFile).size());
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromJournal(journalFile);
+
+        Assertions.assertEquals("Updated task", restoredManager.getAllTasks().get(0).getName());
+        Assertions.assertEquals(State.DONE, restoredManager.getAllEpics().get(0).getState());
+        Assertions.assertEquals(List.of(firstSubTask, task), restoredManager.getHistoryManager());
+
+        restoredManager.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(Paths.get(journalFile + ".history"));
+        Files.deleteIfExists(Paths.get(journalFile + ".ids"));
+    }
+
+    @Test
+    public void transactionIsWrittenAsOneJournalRecord() throws IOException {
+        Path journalFile = Files.createTempFile("journal", "log");
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromJournal(journalFile);
+
+        epic = new Epic("Epic", "Description epic");
+        journalManager.createEpic(epic);
+        task = new Task("Task", "Description task", State.NEW);
+        firstSubTask = new SubTask(epic.getId(), "SubTask", "Description subtask", State.DONE);
+        journalManager.commit(new Transaction().create(task).create(firstSubTask)
+                .update(new Epic(epic.getId(), "Updated epic", "Description epic")));
+        journalManager.close();
+
+        List<String> records = Files.readAllLines(journalFile);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertTrue(records.get(1).startsWith("TX,3:"));
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromJournal(journalFile);
+
+        Assertions.assertEquals(List.of(task), restoredManager.getAllTasks());
+        Assertions.assertEquals("Updated epic", restoredManager.getAllEpics().get(0).getName());
+        Assertions.assertEquals(State.DONE, restoredManager.getAllEpics().get(0).getState());
+        restoredManager.close();
+
+        String tornRecord = records.get(1).substring(0, records.get(1).lastIndexOf("PUT"));
+        Files.writeString(journalFile, records.get(0) + "\n" + tornRecord + "\n");
+
+        FileBackedTaskManager tornManager = FileBackedTaskManager.loadFromJournal(journalFile);
+
+        Assertions.assertEquals(List.of(), tornManager.getAllTasks());
+        Assertions.assertEquals(List.of(), tornManager.getAllSubTasks());
+        Assertions.assertEquals("Epic", tornManager.getAllEpics().get(0).getName());
+
+        tornManager.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(Paths.get(journalFile + ".history"));
+        Files.deleteIfExists(Paths.get(journalFile + ".ids"));
+    }
+
+    @Test
+    public void compactJournalIntoSnapshot() throws IOException {
+        Path journalFile = Files.createTempFile("journal", "log");
+        Path snapshotFile = Paths.get(journalFile + ".snapshot");
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromJournal(journalFile,
+                FsyncPolicy.everyWrite(), 4, Long.MAX_VALUE);
+
+        epic = new Epic("Epic", "Description epic");
+        task = new Task("Task", "Description task", State.NEW);
+        journalManager.createEpic(epic);
+        journalManager.createTask(task);
+        journalManager.removeTaskById(task.getId());
+        for (int i = 0; i < 3; i++) {
+            journalManager.createSubTask(new SubTask(epic.getId(), "SubTask " + i, "Description", State.NEW));
+        }
+        journalManager.close();
+
+        Assertions.assertTrue(Files.exists(snapshotFile));
+        Assertions.assertEquals(3, Files.readAllLines(snapshotFile).size());
+        Assertions.assertEquals(2, Files.readAllLines(journalFile).size());
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromJournal(journalFile,
+                FsyncPolicy.everyWrite(), 4, Long.MAX_VALUE);
+
+        Assertions.assertEquals(0, restoredManager.getAllTasks().size());
+        Assertions.assertEquals(1, restoredManager.getAllEpics().size());
+        Assertions.assertEquals(3, restoredManager.getAllSubTasksFromEpic(restoredManager.getAllEpics().get(0)).size());
+
+        restoredManager.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(Paths.get(journalFile + ".ids"));
+        Files.deleteIfExists(Paths.get(snapshotFile + ".ids"));
+    }
+
+    @Test
+    public void saveReencodesOnlyChangedRows() throws IOException {
+        epic = new Epic("Epic", "Description epic");
+        taskManager.createEpic(epic);
+        firstSubTask = new SubTask(epic.getId(), "SubTask", "Description", State.NEW,
+                LocalDateTime.of(2024, 1, 1, 10, 0), 30L);
+        secondSubTask = new SubTask(epic.getId(), "SubTask", "Description", State.NEW, null, null);
+        taskManager.createSubTask(firstSubTask);
+        taskManager.createSubTask(secondSubTask);
+
+        taskManager.updateSubTask(new SubTask(firstSubTask.getId(), epic.getId(), "Changed", "Description",
+                State.DONE, LocalDateTime.of(2024, 1, 1, 9, 0), 90L));
+
+        Assertions.assertEquals(sortedLines(taskManager.toString()), sortedLines(Files.readString(temporaryFile)));
+        Assertions.assertTrue(Files.readString(temporaryFile).contains(epic.getId() + ",EPIC,Epic,IN_PROGRESS"));
+
+        taskManager.removeSubTaskById(firstSubTask.getId());
+        taskManager.getEpicById(epic.getId());
+        taskManager.createTask(new Task("Task", "Description task", State.NEW));
+
+        Assertions.assertEquals(sortedLines(taskManager.toString()), sortedLines(Files.readString(temporaryFile)));
+        Assertions.assertFalse(Files.readString(temporaryFile).contains("Changed"));
+    }
+
+    private List<String> sortedLines(String value) {
+        return value.lines().sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void restoreDataFromBinarySnapshot() throws IOException {
+        Path snapshotFile = Files.createTempFile("data", "bin");
+        fillBoard(FileBackedTaskManager.loadFromFile(temporaryFile));
+        fillBoard(FileBackedTaskManager.loadFromSnapshot(snapshotFile));
+
+        Assertions.assertTrue(Files.size(snapshotFile) < Files.size(temporaryFile));
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromSnapshot(snapshotFile);
+        Task restoredTask = restoredManager.getAllTasks().get(0);
+        Epic restoredEpic = restoredManager.getAllEpics().get(0);
+        SubTask restoredSubTask = restoredManager.getAllSubTasks().get(0);
+
+        Assertions.assertEquals(task, restoredTask);
+        Assertions.assertEquals("Описание задачи", restoredTask.getDescription());
+        Assertions.assertEquals(State.IN_PROGRESS, restoredTask.getState());
+        Assertions.assertEquals(LocalDateTime.of(2024, 1, 1, 10, 30), restoredTask.getStartTime());
+        Assertions.assertEquals(45L, restoredTask.getDuration());
+        Assertions.assertNull(restoredSubTask.getDescription());
+        Assertions.assertEquals(restoredEpic.getId(), restoredSubTask.getEpicID());
+        Assertions.assertEquals(State.DONE, restoredEpic.getState());
+        Assertions.assertEquals(List.of(restoredSubTask), restoredManager.getHistoryManager());
+
+        restoredManager.close();
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(Paths.get(snapshotFile + ".history"));
+        Files.deleteIfExists(Paths.get(snapshotFile + ".ids"));
+    }
+
+    @Test
+    public void binarySnapshotRejectsTimesOutsideItsRange() throws IOException {
+        List<Task> tasks = List.of(
+                new Task("Far", "Far task", State.NEW, LocalDateTime.of(9000, 1, 1, 0, 0), 15L),
+                new Task("Long", "Long task", State.NEW, LocalDateTime.of(2024, 1, 1, 0, 0), 1L << 40));
+
+        for (Task task : tasks) {
+            Path snapshotFile = Files.createTempFile("data", "bin");
+            FileBackedTaskManager manager = FileBackedTaskManager.loadFromSnapshot(snapshotFile);
+
+            Assertions.assertThrows(ManagerSaveException.class, () -> manager.createTask(task));
+
+            manager.close();
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(Paths.get(snapshotFile + ".history"));
+            Files.deleteIfExists(Paths.get(snapshotFile + ".ids"));
+        }
+    }
+
+    @Test
+    public void idsOfRemovedTasksAreNotReusedAfterRestart() {
+        Task first = new Task("First", "First task", State.NEW);
+        Task second = new Task("Second", "Second task", State.NEW);
+        taskManager.createTask(first);
+        taskManager.createTask(second);
+
+        taskManager.removeTaskById(second.getId());
+
+        Assertions.assertTrue(Files.exists(Paths.get(temporaryFile + ".ids")));
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromFile(temporaryFile);
+        Task third = new Task("Third", "Third task", State.NEW);
+        restoredManager.createTask(third);
+
+        Assertions.assertTrue(third.getId() > second.getId());
+        Assertions.assertEquals(first, restoredManager.getTaskById(first.getId()).orElseThrow());
+    }
+
+    private void fillBoard(FileBackedTaskManager manager) {
+        task = new Task("Задача", "Описание задачи", State.IN_PROGRESS, LocalDateTime.of(2024, 1, 1, 10, 30), 45L);
+        epic = new Epic("Epic", "Description epic");
+        manager.createTask(task);
+        manager.createEpic(epic);
+        firstSubTask = new SubTask(epic.getId(), "SubTask", null, State.DONE, LocalDateTime.of(2024, 1, 2, 8, 0), 15L);
+        manager.createSubTask(firstSubTask);
+        manager.getSubTaskById(firstSubTask.getId());
+        manager.getTaskById(task.getId());
+        manager.removeTaskById(task.getId());
+        manager.createTask(task);
+        manager.close();
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,24 @@
 package implementations.dispatchers;
 
+import implementations.storage.Board;
+import implementations.storage.ChangeEvent;
 import implementations.tasks.Epic;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
 import implementations.utility.Managers;
 import implementations.utility.State;
+import interfaces.StorageEngine;
 import interfaces.TaskManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -225,4 +232,214 @@ class InMemoryTaskManagerTest extends TaskManagerTest<TaskManager> {
         assertEquals(historyManager.get(1), epic);
         assertEquals(historyManager.get(2), task);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void storageEngineReceivesOneEventPerOperation() {
+        List<ChangeEvent> events = new ArrayList<>();
+        InMemoryTaskManager recordedManager = new InMemoryTaskManager(new StorageEngine() {
+            @Override
+            public Board load() {
+                return new Board(List.of(new Epic(1000, "Epic", "Description")), List.of(1000));
+            }
+
+            @Override
+            public void apply(ChangeEvent event, TaskManager board) {
+                events.add(event);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        assertEquals(1, recordedManager.getAllEpics().size());
+        assertEquals(1000, recordedManager.getHistoryManager().get(0).getId());
+
+        SubTask subTask = new SubTask(1000, "SubTask", "Description", State.NEW);
+        recordedManager.createSubTask(subTask);
+        recordedManager.updateSubTask(new SubTask(subTask.getId(), 1000, "SubTask", "Description",
+                State.DONE, null, null));
+        recordedManager.getSubTaskById(subTask.getId());
+        recordedManager.removeEpicById(1000);
+        recordedManager.removeAllEpics();
+
+        assertEquals(List.of(ChangeEvent.Kind.CREATED, ChangeEvent.Kind.UPDATED, ChangeEvent.Kind.VIEWED,
+                        ChangeEvent.Kind.REMOVED, ChangeEvent.Kind.CLEARED),
+                events.stream().map(ChangeEvent::getKind).collect(Collectors.toList()));
+        assertEquals(State.NEW, events.get(1).getBefore().getState());
+        assertEquals(State.DONE, events.get(1).getAfter().getState());
+        assertEquals(1000, events.get(3).getId());
+    }
+
+    @Test
+    public void batchIsHandedToStorageEngineOnce() {
+        List<List<ChangeEvent>> batches = new ArrayList<>();
+        InMemoryTaskManager recordedManager = new InMemoryTaskManager(new StorageEngine() {
+            @Override
+            public Board load() {
+                return Board.empty();
+            }
+
+            @Override
+            public void apply(ChangeEvent event, TaskManager board) {
+                batches.add(List.of(event));
+            }
+
+            @Override
+            public void applyAll(List<ChangeEvent> events, TaskManager board) {
+                batches.add(events);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        Epic batchEpic = new Epic("Epic", "Description");
+        recordedManager.createEpic(batchEpic);
+        batches.clear();
+
+        List<SubTask> subTasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            subTasks.add(new SubTask(batchEpic.getId(), "SubTask " + i, "Description", State.NEW,
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(i), 30L));
+        }
+        recordedManager.createAll(subTasks);
+
+        assertEquals(1, batches.size());
+        assertEquals(100, batches.get(0).size());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), batchEpic.getStartTime());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 3, 30), batchEpic.getEndTime());
+        assertEquals(3000L, batchEpic.getDuration());
+    }
+
+    @Test
+    public void overlappingTasksAreReportedInStartOrder() {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        Task morning = new Task("Morning", "Description", State.NEW, LocalDateTime.of(2024, 5, 1, 9, 0), 60L);
+        Task noon = new Task("Noon", "Description", State.NEW, LocalDateTime.of(2024, 5, 1, 12, 0), 60L);
+        Task untimed = new Task("Untimed", "Description", State.NEW);
+        manager.createTask(noon);
+        manager.createTask(morning);
+        manager.createTask(untimed);
+
+        Task wholeDay = new Task("Whole day", "Description", State.NEW, LocalDateTime.of(2024, 5, 1, 9, 30), 180L);
+
+        assertEquals(List.of(morning, noon), manager.getOverlappingTasks(wholeDay));
+        assertEquals(List.of(morning, noon), manager.getPrioritizedTasks());
+        assertTrue(manager.createTask(wholeDay).isEmpty());
+
+        manager.removeTaskById(untimed.getId());
+        manager.removeTaskById(morning.getId());
+
+        assertEquals(List.of(noon), manager.getOverlappingTasks(wholeDay));
+    }
+
+    @Test
+    public void freeSlotsAreGapsBetweenPrioritizedTasks() {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+        manager.createTask(new Task("Morning", "Description", State.NEW, day.plusHours(9), 60L));
+        manager.createTask(new Task("Lunch", "Description", State.NEW, day.plusHours(10).plusMinutes(20), 40L));
+        manager.createTask(new Task("Noon", "Description", State.NEW, day.plusHours(12), 90L));
+
+        assertEquals(List.of(
+                new TimeSlot(day.plusHours(8), day.plusHours(9)),
+                new TimeSlot(day.plusHours(10), day.plusHours(10).plusMinutes(20)),
+                new TimeSlot(day.plusHours(11), day.plusHours(12)),
+                new TimeSlot(day.plusHours(13).plusMinutes(30), day.plusHours(18))
+        ), manager.getFreeSlots(day.plusHours(8), day.plusHours(18), 0));
+
+        List<TimeSlot> longSlots = manager.getFreeSlots(day.plusHours(9).plusMinutes(30), day.plusHours(14), 30);
+
+        assertEquals(List.of(new TimeSlot(day.plusHours(11), day.plusHours(12)),
+                new TimeSlot(day.plusHours(13).plusMinutes(30), day.plusHours(14))), longSlots);
+        assertEquals(30L, longSlots.get(1).getDuration());
+    }
+
+    @Test
+    public void epicTimeFollowsSubTaskChanges() {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+        Epic epic = new Epic("Epic", "Description");
+        manager.createEpic(epic);
+        SubTask first = new SubTask(epic.getId(), "First", "Description", State.NEW, day.plusHours(9), 60L);
+        SubTask second = new SubTask(epic.getId(), "Second", "Description", State.NEW, day.plusHours(12), 30L);
+        SubTask untimed = new SubTask(epic.getId(), "Untimed", "Description", State.NEW);
+        manager.createSubTask(first);
+        manager.createSubTask(second);
+        manager.createSubTask(untimed);
+
+        assertEquals(day.plusHours(9), epic.getStartTime());
+        assertEquals(day.plusHours(12).plusMinutes(30), epic.getEndTime());
+        assertEquals(90L, epic.getDuration());
+
+        manager.updateSubTask(new SubTask(first.getId(), epic.getId(), "First", "Description", State.NEW,
+                day.plusHours(14), 15L));
+
+        assertEquals(day.plusHours(12), epic.getStartTime());
+        assertEquals(day.plusHours(14).plusMinutes(15), epic.getEndTime());
+        assertEquals(45L, epic.getDuration());
+
+        manager.removeSubTaskById(first.getId());
+
+        assertEquals(day.plusHours(12), epic.getStartTime());
+        assertEquals(day.plusHours(12).plusMinutes(30), epic.getEndTime());
+        assertEquals(30L, epic.getDuration());
+
+        Epic renamed = new Epic(epic.getId(), "Renamed", "Description");
+        manager.updateEpic(renamed);
+
+        assertEquals(day.plusHours(12), renamed.getStartTime());
+        assertEquals(30L, renamed.getDuration());
+    }
+
+    @Test
+    public void snapshotKeepsItsPointInTimeView() {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+        Task morning = new Task("Morning", "Description", State.NEW, day.plusHours(9), 60L);
+        Epic epic = new Epic("Epic", "Description");
+        manager.createTask(morning);
+        manager.createEpic(epic);
+        SubTask subTask = new SubTask(epic.getId(), "SubTask", "Description", State.NEW, day.plusHours(12), 30L);
+        manager.createSubTask(subTask);
+
+        BoardSnapshot snapshot = manager.snapshot();
+        manager.removeTaskById(morning.getId());
+        manager.removeAllEpics();
+        manager.getTaskById(morning.getId());
+
+        assertEquals(List.of(morning), snapshot.getAllTasks());
+        assertEquals(List.of(epic), snapshot.getAllEpics());
+        assertEquals(subTask, snapshot.getSubTask(subTask.getId()));
+        assertEquals(List.of(morning, subTask), snapshot.getPrioritizedTasks());
+        assertEquals(3, snapshot.size());
+
+        assertEquals(0, manager.snapshot().size());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertEquals(snapshot.getVersion() + 2, manager.snapshot().getVersion());
+    }
+
+    @Test
+    public void snapshotEpicsDoNotFollowLaterSubTaskChanges() {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+        Epic epic = new Epic("Epic", "Description");
+        manager.createEpic(epic);
+        SubTask subTask = new SubTask(epic.getId(), "SubTask", "Description", State.NEW, day.plusHours(12), 30L);
+        manager.createSubTask(subTask);
+
+        BoardSnapshot snapshot = manager.snapshot();
+        manager.updateSubTask(new SubTask(subTask.getId(), epic.getId(), "SubTask", "Description", State.DONE,
+                day.plusHours(8), 30L));
+        manager.createSubTask(new SubTask(epic.getId(), "Second", "Description", State.NEW, day.plusHours(20), 30L));
+        Epic frozenEpic = snapshot.getEpic(epic.getId());
+
+        assertEquals(State.NEW, frozenEpic.getState());
+        assertEquals(day.plusHours(12), frozenEpic.getStartTime());
+        assertEquals(List.of(subTask.getId()), frozenEpic.getSubTaskArrayList());
+        assertEquals(State.IN_PROGRESS, manager.snapshot().getEpic(epic.getId()).getState());
+        assertEquals(day.plusHours(8), manager.snapshot().getEpic(epic.getId()).getStartTime());
+        assertEquals(State.IN_PROGRESS, epic.getState());
+    }
+}
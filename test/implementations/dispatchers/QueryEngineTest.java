@@ -0,0 +1,83 @@
+package implementations.dispatchers;
+
+import implementations.tasks.Query;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import implementations.utility.TaskTypes;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryEngineTest {
+    private final QueryEngine.Indexes indexes = new QueryEngine.Indexes() {
+        @Override
+        public QueryEngine.Source all(TaskTypes type) {
+            return new QueryEngine.Source(100, true, Stream::empty);
+        }
+
+        @Override
+        public QueryEngine.Source byEpic(int epicId) {
+            return new QueryEngine.Source(3, true, Stream::empty);
+        }
+
+        @Override
+        public QueryEngine.Source byState(TaskTypes type, State state) {
+            return type == TaskTypes.TASK ? new QueryEngine.Source(10, false, Stream::empty) : null;
+        }
+
+        @Override
+        public QueryEngine.Source byTime(TaskTypes type, Query query, long budget) {
+            return budget > 5 ? new QueryEngine.Source(5, false, Stream::empty) : null;
+        }
+    };
+
+    @Test
+    void picksCheapestIndexPerType() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 20, 18, 0);
+
+        assertEquals(List.of(10L, 100L, 100L), costs(new Query().state(State.DONE)));
+        assertEquals(List.of(3L), costs(new Query().epic(7).state(State.DONE)));
+        assertEquals(List.of(5L, 100L, 5L), costs(new Query().state(State.DONE).between(now, null)));
+        assertEquals(List.of(), costs(new Query().limit(0)));
+    }
+
+    @Test
+    void idOrderedSourceStopsAtLimit() {
+        QueryEngine.Indexes infinite = new QueryEngine.Indexes() {
+            @Override
+            public QueryEngine.Source all(TaskTypes type) {
+                return new QueryEngine.Source(Long.MAX_VALUE, true, () -> Stream.iterate(0, id -> id + 1)
+                        .map(id -> new Task(id, "Task " + id, "description", State.NEW, null, null)));
+            }
+
+            @Override
+            public QueryEngine.Source byEpic(int epicId) {
+                return null;
+            }
+
+            @Override
+            public QueryEngine.Source byState(TaskTypes type, State state) {
+                return null;
+            }
+
+            @Override
+            public QueryEngine.Source byTime(TaskTypes type, Query query, long budget) {
+                return null;
+            }
+        };
+        Query query = new Query().types(EnumSet.of(TaskTypes.TASK)).namePrefix("Task 1").limit(3);
+
+        assertEquals(List.of(1, 10, 11), QueryEngine.execute(query, infinite, Task::getId));
+    }
+
+    private List<Long> costs(Query query) {
+        return QueryEngine.plan(query, indexes).stream().map(QueryEngine.Source::getCost)
+                .collect(Collectors.toList());
+    }
+}
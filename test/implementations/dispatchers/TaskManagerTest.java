@@ -1,9 +1,15 @@
 package implementations.dispatchers;
 
+import implementations.storage.ChangeEvent;
+import implementations.tasks.BatchResult;
 import implementations.tasks.Epic;
+import implementations.tasks.Query;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.Transaction;
+import implementations.utility.EventRing;
 import implementations.utility.State;
+import implementations.utility.TaskTypes;
 import interfaces.TaskManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -11,9 +17,19 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public abstract class TaskManagerTest<T extends TaskManager> {
@@ -114,6 +130,22 @@ public abstract class TaskManagerTest<T extends TaskManager> {
             assertEquals(epic.getState(), State.IN_PROGRESS);
         }
 
+        @Test
+        public void updatedTasksLeaveHistory() {
+            taskManager.getTaskById(task.getId());
+            taskManager.getSubTaskById(firstSubTask.getId());
+            taskManager.getEpicById(epic.getId());
+            assertEquals(List.of(task, firstSubTask, epic), taskManager.getHistoryManager());
+
+            assertTrue(taskManager.updateTask(new Task(task.getId(), "Updated task", "Updated task description",
+                    State.DONE, null, null)));
+            assertTrue(taskManager.updateSubTask(new SubTask(firstSubTask.getId(), epic.getId(), "Updated subtask",
+                    "Updated subtask description", State.DONE, null, null)));
+
+            assertEquals(List.of(epic), taskManager.getHistoryManager());
+            assertEquals(List.of(epic), taskManager.viewHistory());
+        }
+
         @Test
         public void subTasksShouldHaveEpicId() {
             List<SubTask> subTasks = taskManager.getAllSubTasks();
@@ -199,6 +231,335 @@ public abstract class TaskManagerTest<T extends TaskManager> {
             assertEquals(4, taskManager.getPrioritizedTasks().size());
             assertEquals(3, taskManager.getAllSubTasks().size());
         }
+
+        @Test
+        public void batchOperationsReturnResultPerItem() {
+            Task freeTask = new Task("Free task", "Free task description", State.NEW,
+                    LocalDateTime.of(2024, 3, 21, 10, 0), Duration.ofHours(1).toMinutes());
+            Task overlappingTask = new Task("Overlapping task", "Overlapping task description", State.NEW,
+                    LocalDateTime.of(2024, 3, 20, 18, 30), Duration.ofHours(1).toMinutes());
+            SubTask orphanSubTask = new SubTask(-1, "Orphan", "Orphan description", State.NEW);
+            SubTask doneSubTask = new SubTask(epic.getId(), "Done subtask", "Done subtask description", State.DONE,
+                    LocalDateTime.of(2024, 3, 19, 10, 0), Duration.ofHours(1).toMinutes());
+
+            List<BatchResult> created = taskManager.createAll(List.of(freeTask, overlappingTask, orphanSubTask,
+                    doneSubTask));
+
+            assertEquals(List.of(BatchResult.Status.CREATED, BatchResult.Status.OVERLAPPING,
+                            BatchResult.Status.NOT_FOUND, BatchResult.Status.CREATED),
+                    created.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+            assertEquals(freeTask.getId(), created.get(0).getId());
+            assertEquals(6, taskManager.getPrioritizedTasks().size());
+            assertEquals(State.IN_PROGRESS, taskManager.getEpicById(epic.getId()).orElseThrow().getState());
+            assertEquals(LocalDateTime.of(2024, 3, 19, 10, 0),
+                    taskManager.getEpicById(epic.getId()).orElseThrow().getStartTime());
+
+            Task movedTask = new Task(freeTask.getId(), "Moved task", "Moved task description", State.DONE,
+                    LocalDateTime.of(2024, 3, 22, 10, 0), Duration.ofHours(1).toMinutes());
+            Task clashingTask = new Task(task.getId(), "Clashing task", "Clashing task description", State.NEW,
+                    LocalDateTime.of(2024, 3, 22, 10, 30), Duration.ofHours(1).toMinutes());
+            Task missingTask = new Task(-5, "Missing task", "Missing task description", State.NEW, null, null);
+
+            List<BatchResult> updated = taskManager.updateAll(List.of(movedTask, clashingTask, missingTask));
+
+            assertEquals(List.of(new BatchResult(freeTask.getId(), BatchResult.Status.UPDATED),
+                    new BatchResult(task.getId(), BatchResult.Status.OVERLAPPING),
+                    new BatchResult(-5, BatchResult.Status.NOT_FOUND)), updated);
+            assertEquals("Moved task", taskManager.getTaskById(freeTask.getId()).orElseThrow().getName());
+            assertEquals(LocalDateTime.of(2024, 3, 20, 18, 0),
+                    taskManager.getTaskById(task.getId()).orElseThrow().getStartTime());
+        }
+
+        @Test
+        public void subTaskWithoutEpicDoesNotTakeAnId() {
+            SubTask orphanSubTask = new SubTask(-1, "Orphan", "Orphan description", State.NEW);
+
+            assertTrue(taskManager.createSubTask(orphanSubTask).isEmpty());
+            assertNull(orphanSubTask.getId());
+        }
+
+        @Test
+        public void batchChecksItemsAgainstEachOtherAndTheSchedule() {
+            Task lateTask = new Task("Late task", "Late task description", State.NEW,
+                    LocalDateTime.of(2024, 5, 2, 10, 0), Duration.ofHours(1).toMinutes());
+            Task earlyTask = new Task("Early task", "Early task description", State.NEW,
+                    LocalDateTime.of(2024, 5, 1, 10, 0), Duration.ofHours(1).toMinutes());
+            Task clashingTask = new Task("Clashing task", "Clashing task description", State.NEW,
+                    LocalDateTime.of(2024, 5, 1, 10, 30), Duration.ofHours(1).toMinutes());
+
+            assertEquals(List.of(BatchResult.Status.CREATED, BatchResult.Status.CREATED),
+                    taskManager.createAll(List.of(lateTask, earlyTask)).stream()
+                            .map(BatchResult::getStatus).collect(Collectors.toList()));
+            assertEquals(List.of(BatchResult.Status.OVERLAPPING),
+                    taskManager.createAll(List.of(clashingTask)).stream()
+                            .map(BatchResult::getStatus).collect(Collectors.toList()));
+
+            Task shiftedTask = new Task(earlyTask.getId(), "Shifted task", "Shifted task description", State.NEW,
+                    LocalDateTime.of(2024, 5, 1, 10, 30), Duration.ofHours(1).toMinutes());
+            Task movedTask = new Task(lateTask.getId(), "Moved task", "Moved task description", State.NEW,
+                    LocalDateTime.of(2024, 5, 1, 10, 0), Duration.ofMinutes(15).toMinutes());
+
+            assertEquals(List.of(new BatchResult(earlyTask.getId(), BatchResult.Status.UPDATED)),
+                    taskManager.updateAll(List.of(shiftedTask)));
+            assertEquals(List.of(new BatchResult(lateTask.getId(), BatchResult.Status.UPDATED)),
+                    taskManager.updateAll(List.of(movedTask)));
+            assertEquals(List.of(movedTask, shiftedTask), taskManager.getPrioritizedTasks().stream()
+                    .filter(prioritized -> prioritized.getStartTime().getMonthValue() == 5)
+                    .collect(Collectors.toList()));
+        }
+
+        @Test
+        public void transactionIsAppliedAllOrNothing() {
+            taskManager.getSubTaskById(firstSubTask.getId());
+            taskManager.getTaskById(task.getId());
+            List<Task> history = taskManager.getHistoryManager();
+            List<Task> prioritized = taskManager.getPrioritizedTasks();
+
+            Task newTask = new Task("New task", "New task description", State.NEW,
+                    LocalDateTime.of(2024, 3, 25, 10, 0), Duration.ofHours(1).toMinutes());
+            SubTask movedSubTask = new SubTask(firstSubTask.getId(), epic.getId(), "Moved subtask",
+                    "Moved subtask description", State.DONE, LocalDateTime.of(2024, 3, 26, 10, 0),
+                    Duration.ofHours(1).toMinutes());
+            Task clashingTask = new Task("Clashing task", "Clashing task description", State.NEW,
+                    LocalDateTime.of(2024, 3, 25, 10, 30), Duration.ofHours(1).toMinutes());
+
+            List<BatchResult> aborted = taskManager.commit(new Transaction()
+                    .create(newTask)
+                    .update(movedSubTask)
+                    .remove(task.getId())
+                    .remove(epic.getId())
+                    .create(clashingTask));
+
+            assertEquals(List.of(BatchResult.Status.ABORTED, BatchResult.Status.ABORTED, BatchResult.Status.ABORTED,
+                            BatchResult.Status.ABORTED, BatchResult.Status.OVERLAPPING),
+                    aborted.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+            assertEquals(1, taskManager.getAllTasks().size());
+            assertEquals(3, taskManager.getAllSubTasks().size());
+            assertEquals(3, taskManager.getAllSubTasksFromEpic(taskManager.getAllEpics().get(0)).size());
+            assertEquals("Test createFirstSubTask",
+                    taskManager.getAllSubTasks().stream().filter(firstSubTask::equals).findFirst().orElseThrow()
+                            .getName());
+            assertEquals(State.NEW, taskManager.getAllEpics().get(0).getState());
+            assertEquals(LocalDateTime.of(2024, 3, 20, 22, 0), taskManager.getAllEpics().get(0).getEndTime());
+            assertEquals(history, taskManager.getHistoryManager());
+            assertEquals(prioritized, taskManager.getPrioritizedTasks());
+
+            List<BatchResult> committed = taskManager.commit(new Transaction()
+                    .create(newTask)
+                    .update(movedSubTask)
+                    .remove(secondSubTask.getId()));
+
+            assertTrue(committed.stream().allMatch(BatchResult::isSuccess));
+            assertEquals(2, taskManager.getAllTasks().size());
+            assertEquals(2, taskManager.getAllSubTasks().size());
+            assertEquals(State.IN_PROGRESS, taskManager.getAllEpics().get(0).getState());
+            assertEquals(LocalDateTime.of(2024, 3, 26, 11, 0), taskManager.getAllEpics().get(0).getEndTime());
+        }
+
+        @Test
+        public void listingsByStateFollowWrites() {
+            assertEquals(List.of(task), taskManager.getTasksByState(State.NEW));
+            assertEquals(List.of(epic), taskManager.getEpicsByState(State.NEW));
+            assertEquals(3, taskManager.getSubTasksByState(State.NEW).size());
+
+            taskManager.updateSubTask(new SubTask(firstSubTask.getId(), epic.getId(), "Done subtask",
+                    "Done subtask description", State.DONE, null, null));
+            taskManager.updateTask(new Task(task.getId(), "Started task", "Started task description",
+                    State.IN_PROGRESS, null, null));
+
+            assertEquals(List.of(), taskManager.getTasksByState(State.NEW));
+            assertEquals(List.of(task), taskManager.getTasksByState(State.IN_PROGRESS));
+            assertEquals(List.of(firstSubTask), taskManager.getSubTasksByState(State.DONE));
+            assertEquals(List.of(epic), taskManager.getEpicsByState(State.IN_PROGRESS));
+
+            taskManager.removeSubTaskById(secondSubTask.getId());
+            taskManager.removeSubTaskById(thirdSubTask.getId());
+
+            assertEquals(List.of(epic), taskManager.getEpicsByState(State.DONE));
+            assertEquals(List.of(), taskManager.getSubTasksByState(State.NEW));
+
+            Epic emptyEpic = new Epic("Empty epic", "Empty epic description");
+            taskManager.createEpic(emptyEpic);
+            taskManager.removeAllTasks();
+
+            assertEquals(List.of(emptyEpic), taskManager.getEpicsByState(State.NEW));
+            assertEquals(List.of(), taskManager.getTasksByState(State.IN_PROGRESS));
+
+            taskManager.removeAllEpics();
+
+            assertEquals(List.of(), taskManager.getEpicsByState(State.NEW));
+            assertEquals(List.of(), taskManager.getSubTasksByState(State.DONE));
+        }
+
+        @Test
+        public void searchFollowsWrites() {
+            assertEquals(List.of(firstSubTask, secondSubTask), taskManager.search("createFirstSubTask", 10));
+            assertEquals(List.of(epic), taskManager.search("test createEpic", 10));
+
+            taskManager.updateTask(new Task(task.getId(), "Сходить в магазин", "Купить хлеб с маслом",
+                    State.NEW, null, null));
+            taskManager.removeSubTaskById(firstSubTask.getId());
+
+            assertEquals(List.of(task), taskManager.search("ХЛЕБ магазин", 10));
+            assertEquals(List.of(), taskManager.search("createTask", 10));
+            assertEquals(List.of(secondSubTask), taskManager.search("createFirstSubTask", 10));
+            assertEquals(3, taskManager.search("description", 10).size());
+
+            taskManager.removeAllEpics();
+
+            assertEquals(List.of(), taskManager.search("description", 10));
+        }
+
+        @Test
+        public void viewsMatchCopiesAndAreReadOnly() {
+            taskManager.getTaskById(task.getId());
+            taskManager.getEpicById(epic.getId());
+
+            assertEquals(taskManager.getAllTasks(), new ArrayList<>(taskManager.viewAllTasks()));
+            assertEquals(taskManager.getAllEpics(), new ArrayList<>(taskManager.viewAllEpics()));
+            assertEquals(taskManager.getAllSubTasks(), new ArrayList<>(taskManager.viewAllSubTasks()));
+            assertEquals(taskManager.getPrioritizedTasks(), new ArrayList<>(taskManager.viewPrioritizedTasks()));
+            assertEquals(taskManager.getHistoryManager(), taskManager.viewHistory());
+            assertSame(taskManager.viewHistory(), taskManager.viewHistory());
+            assertThrows(UnsupportedOperationException.class, () -> taskManager.viewAllTasks().clear());
+            assertThrows(UnsupportedOperationException.class, () -> taskManager.viewHistory().add(task));
+
+            List<Task> history = taskManager.viewHistory();
+            taskManager.getSubTaskById(firstSubTask.getId());
+
+            assertEquals(List.of(task, epic), history);
+            assertEquals(List.of(task, epic, firstSubTask), taskManager.viewHistory());
+        }
+
+        @Test
+        public void queriesMatchFilteredFullScan() {
+            Epic secondEpic = new Epic("Second epic", "Second epic description");
+            taskManager.createEpic(secondEpic);
+            Random random = new Random(23);
+            for (int i = 0; i < 60; i++) {
+                State state = State.values()[random.nextInt(State.values().length)];
+                LocalDateTime start = random.nextBoolean() ? null : LocalDateTime.of(2024, 3, 21, 0, 0).plusHours(i);
+                Long duration = Objects.isNull(start) ? null : 30L;
+                if (i % 2 == 0) {
+                    taskManager.createTask(new Task("Task " + i, "description", state, start, duration));
+                } else {
+                    taskManager.createSubTask(new SubTask(secondEpic.getId(), "SubTask " + i, "description", state,
+                            start, duration));
+                }
+            }
+            LocalDateTime from = LocalDateTime.of(2024, 3, 21, 10, 0);
+            List<Query> queries = List.of(
+                    new Query(),
+                    new Query().types(EnumSet.of(TaskTypes.SUBTASK)).state(State.DONE),
+                    new Query().epic(secondEpic.getId()).orderBy(Query.Field.START_TIME, true).limit(5),
+                    new Query().between(from, from.plusHours(14)).orderBy(Query.Field.NAME, false),
+                    new Query().types(EnumSet.of(TaskTypes.TASK)).state(State.IN_PROGRESS).between(from, null)
+                            .limit(3),
+                    new Query().namePrefix("test CREATE").orderBy(Query.Field.TYPE, false)
+                            .orderBy(Query.Field.ID, true),
+                    new Query().state(State.NEW).limit(4));
+            List<Task> all = new ArrayList<>(taskManager.getAllTasks());
+            all.addAll(taskManager.getAllEpics());
+            all.addAll(taskManager.getAllSubTasks());
+
+            for (Query query : queries) {
+                List<Task> expected = all.stream().filter(query::matches).sorted(query.comparator())
+                        .limit(query.getLimit()).collect(Collectors.toList());
+                assertEquals(expected, taskManager.query(query));
+            }
+            assertEquals(List.of(firstSubTask, secondSubTask), taskManager.query(new Query()
+                    .types(EnumSet.of(TaskTypes.SUBTASK))
+                    .between(LocalDateTime.of(2024, 3, 20, 19, 30), LocalDateTime.of(2024, 3, 20, 21, 0))));
+            assertEquals(List.of("Test createThirdSubTask", "Test createSecondSubTask"), taskManager.query(new Query()
+                    .epic(epic.getId()).orderBy(Query.Field.NAME, true).limit(2), Task::getName));
+            assertEquals(List.of(), taskManager.query(new Query().epic(epic.getId()).types(EnumSet.of(TaskTypes.TASK))));
+        }
+
+        @Test
+        public void changeListenersSeeCommittedChanges() throws InterruptedException {
+            List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+            EventRing.Subscription<ChangeEvent> subscription = taskManager.subscribe(events::add);
+
+            Task newTask = new Task("New task", "New task description", State.NEW);
+            taskManager.createTask(newTask);
+            taskManager.updateTask(new Task(newTask.getId(), "Renamed task", "New task description", State.DONE,
+                    null, null));
+            taskManager.getTaskById(task.getId());
+            taskManager.commit(new Transaction()
+                    .remove(task.getId())
+                    .create(new Task("Clashing task", "Clashing task description", State.NEW,
+                            LocalDateTime.of(2024, 3, 20, 19, 30), Duration.ofHours(1).toMinutes())));
+            taskManager.removeTaskById(newTask.getId());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (subscription.getLag() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            subscription.close();
+
+            assertEquals(List.of("CREATED:" + newTask.getId(), "UPDATED:" + newTask.getId(), "VIEWED:" + task.getId(),
+                            "REMOVED:" + newTask.getId()),
+                    events.stream().map(event -> event.getKind() + ":" + event.getId()).collect(Collectors.toList()));
+            assertEquals("New task", events.get(1).getBefore().getName());
+            assertEquals("Renamed task", events.get(1).getAfter().getName());
+        }
+
+        @Test
+        public void bulkClearsResetIndexesAndEpics() {
+            taskManager.updateSubTask(new SubTask(firstSubTask.getId(), epic.getId(), "Test createFirstSubTask",
+                    "Test createFirstSubTask description", State.DONE,
+                    LocalDateTime.of(2024, 3, 20, 19, 0), Duration.ofHours(1).toMinutes()));
+            taskManager.getTaskById(task.getId());
+            taskManager.getSubTaskById(secondSubTask.getId());
+            taskManager.getEpicById(epic.getId());
+            assertEquals(State.IN_PROGRESS, taskManager.getEpicById(epic.getId()).orElseThrow().getState());
+
+            taskManager.removeAllSubTasks();
+
+            Epic clearedEpic = taskManager.getEpicById(epic.getId()).orElseThrow();
+            assertEquals(State.NEW, clearedEpic.getState());
+            assertEquals(List.of(), taskManager.getAllSubTasksFromEpic(clearedEpic));
+            assertEquals(List.of(epic), taskManager.getEpicsByState(State.NEW));
+            assertEquals(List.of(task), taskManager.getPrioritizedTasks());
+            assertEquals(List.of(task, epic), taskManager.getHistoryManager());
+            assertEquals(List.of(), taskManager.search("createFirstSubTask", 10));
+
+            SubTask newSubTask = new SubTask(epic.getId(), "New subtask", "New subtask description", State.DONE,
+                    LocalDateTime.of(2024, 3, 20, 19, 0), Duration.ofHours(1).toMinutes());
+            taskManager.createSubTask(newSubTask);
+            assertEquals(State.DONE, epic.getState());
+            assertEquals(List.of(task, newSubTask), taskManager.getPrioritizedTasks());
+
+            taskManager.removeAllTasks();
+
+            assertEquals(List.of(newSubTask), taskManager.getPrioritizedTasks());
+            assertEquals(List.of(epic), taskManager.getHistoryManager());
+            assertEquals(List.of(newSubTask), taskManager.getAllSubTasks());
+
+            taskManager.removeAllEpics();
+
+            assertEquals(List.of(), taskManager.getAllSubTasks());
+            assertEquals(List.of(), taskManager.getPrioritizedTasks());
+            assertEquals(List.of(), taskManager.getHistoryManager());
+            assertEquals(List.of(), taskManager.search("New subtask", 10));
+        }
+
+        @Test
+        public void pagesFollowIdOrder() {
+            assertEquals(List.of(firstSubTask, secondSubTask), taskManager.getSubTasksAfter(-1, 2));
+            assertEquals(List.of(thirdSubTask), taskManager.getSubTasksAfter(secondSubTask.getId(), 2));
+            assertEquals(List.of(), taskManager.getSubTasksAfter(thirdSubTask.getId(), 2));
+            assertEquals(List.of(epic), taskManager.getEpicsAfter(0, 10));
+            assertEquals(List.of(), taskManager.getTasksAfter(Integer.MAX_VALUE, 10));
+
+            Task laterTask = new Task("Later task", "Later task description", State.NEW);
+            taskManager.createTask(laterTask);
+            taskManager.removeSubTaskById(secondSubTask.getId());
+
+            assertEquals(List.of(task, laterTask), taskManager.getTasksAfter(-1, 10));
+            assertEquals(List.of(laterTask), taskManager.getTasksAfter(task.getId(), 10));
+            assertEquals(List.of(thirdSubTask), taskManager.getSubTasksAfter(firstSubTask.getId(), 10));
+        }
     }
 
     public abstract T getTaskManager();
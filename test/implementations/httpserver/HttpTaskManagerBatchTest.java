@@ -0,0 +1,99 @@
+package implementations.httpserver;
+
+import com.google.gson.Gson;
+import implementations.dispatchers.InMemoryTaskManager;
+import implementations.httpserver.handlers.BaseHttpHandler;
+import implementations.httpserver.handlers.typetokens.BatchResultListTypeToken;
+import implementations.tasks.BatchResult;
+import implementations.tasks.Epic;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import interfaces.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerBatchTest {
+    Supplier<TaskManager> taskManagerSupplier = InMemoryTaskManager::new;
+    HttpTaskServer httpTaskServer = new HttpTaskServer(taskManagerSupplier);
+    TaskManager taskManager = httpTaskServer.getTaskManager();
+    Gson gson = BaseHttpHandler.getGson();
+    HttpClient client = HttpClient.newHttpClient();
+    URI uri = URI.create("http://localhost:8080/batch");
+
+    public HttpTaskManagerBatchTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        taskManager.removeAllTasks();
+        taskManager.removeAllSubTasks();
+        taskManager.removeAllEpics();
+        httpTaskServer.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        httpTaskServer.stop(0);
+    }
+
+    @Test
+    public void testCommitBatchFromHttpServer() throws IOException, InterruptedException {
+        Epic epic = new Epic("Epic", "Description epic");
+        taskManager.createEpic(epic);
+        Task task = new Task("Task", "Description task", State.NEW, LocalDateTime.of(2024, 5, 1, 9, 0), 60L);
+        taskManager.createTask(task);
+
+        String body = "[{\"operation\": \"create\", \"task\": {\"name\": \"SubTask\", \"description\": \"Description\","
+                + " \"state\": \"DONE\", \"epicID\": " + epic.getId() + ", \"type\": \"subtask\"}},"
+                + " {\"operation\": \"update\", \"task\": {\"id\": " + task.getId() + ", \"name\": \"Updated task\","
+                + " \"description\": \"Description task\", \"state\": \"IN_PROGRESS\", \"type\": \"task\"}},"
+                + " {\"operation\": \"remove\", \"id\": " + epic.getId() + "}]";
+        HttpResponse<String> response = post(body);
+
+        assertEquals(201, response.statusCode());
+        List<BatchResult> results = gson.fromJson(response.body(), new BatchResultListTypeToken().getType());
+        assertEquals(List.of(BatchResult.Status.CREATED, BatchResult.Status.UPDATED, BatchResult.Status.REMOVED),
+                results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals("Updated task", taskManager.getAllTasks().get(0).getName());
+        assertEquals(List.of(), taskManager.getAllEpics());
+        assertEquals(List.of(), taskManager.getAllSubTasks());
+    }
+
+    @Test
+    public void testAbortedBatchFromHttpServer() throws IOException, InterruptedException {
+        Task task = new Task("Task", "Description task", State.NEW, LocalDateTime.of(2024, 5, 1, 9, 0), 60L);
+        taskManager.createTask(task);
+
+        String body = "[{\"operation\": \"remove\", \"id\": " + task.getId() + "},"
+                + " {\"operation\": \"remove\", \"id\": -1}]";
+        HttpResponse<String> response = post(body);
+
+        assertEquals(406, response.statusCode());
+        List<BatchResult> results = gson.fromJson(response.body(), new BatchResultListTypeToken().getType());
+        assertEquals(List.of(new BatchResult(task.getId(), BatchResult.Status.ABORTED),
+                new BatchResult(-1, BatchResult.Status.NOT_FOUND)), results);
+        assertEquals(List.of(task), taskManager.getAllTasks());
+
+        assertEquals(400, post("{\"operation\": \"remove\"}").statusCode());
+        assertEquals(400, post("[{\"operation\": \"create\", \"task\": {\"name\": \"Task\"}}]").statusCode());
+    }
+
+    private HttpResponse<String> post(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString(body)).uri(uri).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -3,10 +3,12 @@ package implementations.httpserver;
 import com.google.gson.*;
 import implementations.dispatchers.InMemoryTaskManager;
 import implementations.httpserver.handlers.BaseHttpHandler;
-import implementations.httpserver.handlers.typetokens.TaskTreeSetTypeToken;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.httpserver.handlers.typetokens.TimeSlotListTypeToken;
 import implementations.tasks.Epic;
 import implementations.tasks.SubTask;
 import implementations.tasks.Task;
+import implementations.tasks.TimeSlot;
 import implementations.utility.State;
 import interfaces.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -19,8 +21,9 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.LocalDateTime;
-import java.util.TreeSet;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -78,9 +81,49 @@ public class HttpTaskManagerPrioritizedTest {
 
         assertEquals(200, response.statusCode());
 
-        TreeSet<Task> prioritizedFromManager = taskManager.getPrioritizedTasks();
-        TreeSet<Task> prioritizedFromJson = gson.fromJson(response.body(), new TaskTreeSetTypeToken().getType());
+        List<Task> prioritizedFromManager = taskManager.getPrioritizedTasks();
+        List<Task> prioritizedFromJson = gson.fromJson(response.body(), new TaskListTypeToken().getType());
 
-        assertEquals(prioritizedFromManager, prioritizedFromJson);
+        assertEquals(prioritizedFromManager.stream().map(Task::getId).collect(Collectors.toList()),
+                prioritizedFromJson.stream().map(Task::getId).collect(Collectors.toList()));
+        assertEquals(List.of(firstSubTask.getId(), secondSubTask.getId(), firstTask.getId(), secondTask.getId(),
+                thirdTask.getId()), prioritizedFromManager.stream().map(Task::getId).collect(Collectors.toList()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFreeSlotsFromHttpServer() throws IOException, InterruptedException {
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 0, 0);
+        taskManager.createTask(new Task("First task", "Description first task",
+                State.NEW, day.plusHours(9), 60L));
+        taskManager.createTask(new Task("Second task", "Description second task",
+                State.NEW, day.plusHours(10).plusMinutes(15), 45L));
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:8080/prioritized/free-slots"
+                + "?from=01.05.2024%2008:00&to=01.05.2024+12:00&minDuration=30");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET().uri(uri).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+
+        List<TimeSlot> freeSlots = gson.fromJson(response.body(), new TimeSlotListTypeToken().getType());
+
+        assertEquals(List.of(new TimeSlot(day.plusHours(8), day.plusHours(9)),
+                new TimeSlot(day.plusHours(11), day.plusHours(12))), freeSlots);
+
+        URI invalidUri = URI.create("http://localhost:8080/prioritized/free-slots?from=01.05.2024+12:00");
+        HttpResponse<String> invalidResponse = client.send(HttpRequest.newBuilder().GET().uri(invalidUri).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, invalidResponse.statusCode());
+
+        URI overflowUri = URI.create("http://localhost:8080/prioritized/free-slots"
+                + "?from=01.05.2024+08:00&to=01.05.2024+12:00&minDuration=200000000000000000");
+        HttpResponse<String> overflowResponse = client.send(HttpRequest.newBuilder().GET().uri(overflowUri).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, overflowResponse.statusCode());
+        assertEquals(List.of(), taskManager.getFreeSlots(day.plusHours(8), day.plusHours(12), Long.MAX_VALUE));
+    }
+}
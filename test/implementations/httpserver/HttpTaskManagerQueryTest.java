@@ -0,0 +1,101 @@
+package implementations.httpserver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import implementations.dispatchers.InMemoryTaskManager;
+import implementations.httpserver.handlers.BaseHttpHandler;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import interfaces.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerQueryTest {
+    Supplier<TaskManager> taskManagerSupplier = InMemoryTaskManager::new;
+    HttpTaskServer httpTaskServer = new HttpTaskServer(taskManagerSupplier);
+    TaskManager taskManager = httpTaskServer.getTaskManager();
+    Gson gson = BaseHttpHandler.getGson();
+    HttpClient client = HttpClient.newHttpClient();
+
+    public HttpTaskManagerQueryTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        taskManager.removeAllTasks();
+        taskManager.removeAllSubTasks();
+        taskManager.removeAllEpics();
+        httpTaskServer.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        httpTaskServer.stop(0);
+    }
+
+    @Test
+    public void testQueryFromHttpServer() throws IOException, InterruptedException {
+        Task task = new Task("Практикум", "Доделать ТЗ", State.IN_PROGRESS,
+                LocalDateTime.of(2024, 4, 10, 18, 0), 30L);
+        Epic epic = new Epic("Дела по хозяйству", "Разные дела по дому");
+        taskManager.createTask(task);
+        taskManager.createEpic(epic);
+        SubTask dishes = new SubTask(epic.getId(), "Посуда", "Помыть посуду", State.IN_PROGRESS,
+                LocalDateTime.of(2024, 4, 11, 18, 0), 30L);
+        SubTask floor = new SubTask(epic.getId(), "Пол", "Пропылесосить пол", State.IN_PROGRESS,
+                LocalDateTime.of(2024, 4, 12, 18, 0), 30L);
+        SubTask shelves = new SubTask(epic.getId(), "Полки", "Протереть пыль", State.NEW,
+                LocalDateTime.of(2024, 4, 13, 18, 0), 30L);
+        taskManager.createSubTask(dishes);
+        taskManager.createSubTask(floor);
+        taskManager.createSubTask(shelves);
+
+        HttpResponse<String> response = get("/query?state=in_progress&type=subtask,task&sort=-startTime&limit=2");
+        List<Task> tasks = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(floor, dishes), tasks);
+
+        HttpResponse<String> projected = get("/query?epic=" + epic.getId() + "&prefix="
+                + URLEncoder.encode("пол", StandardCharsets.UTF_8) + "&from="
+                + URLEncoder.encode("12.04.2024 18:15", StandardCharsets.UTF_8) + "&fields=id,name,startTime");
+        JsonArray rows = gson.fromJson(projected.body(), JsonArray.class);
+
+        assertEquals(200, projected.statusCode());
+        assertEquals(2, rows.size());
+        JsonObject first = rows.get(0).getAsJsonObject();
+        assertEquals(3, first.size());
+        assertEquals(floor.getId(), first.get("id").getAsInt());
+        assertEquals("Пол", first.get("name").getAsString());
+        assertEquals("12.04.2024 18:00", first.get("startTime").getAsString());
+        assertEquals(shelves.getId(), rows.get(1).getAsJsonObject().get("id").getAsInt());
+
+        for (String query : List.of("state=LATE", "type=story", "epic=x", "from=tomorrow", "sort=priority",
+                "fields=id,owner", "limit=0")) {
+            assertEquals(400, get("/query?" + query).statusCode());
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder().GET().uri(URI.create("http://localhost:8080" + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
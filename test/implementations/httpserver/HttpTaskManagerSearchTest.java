@@ -0,0 +1,81 @@
+package implementations.httpserver;
+
+import com.google.gson.Gson;
+import implementations.dispatchers.InMemoryTaskManager;
+import implementations.httpserver.handlers.BaseHttpHandler;
+import implementations.httpserver.handlers.typetokens.TaskListTypeToken;
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import interfaces.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerSearchTest {
+    Supplier<TaskManager> taskManagerSupplier = InMemoryTaskManager::new;
+    HttpTaskServer httpTaskServer = new HttpTaskServer(taskManagerSupplier);
+    TaskManager taskManager = httpTaskServer.getTaskManager();
+    Gson gson = BaseHttpHandler.getGson();
+    HttpClient client = HttpClient.newHttpClient();
+
+    public HttpTaskManagerSearchTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        taskManager.removeAllTasks();
+        taskManager.removeAllSubTasks();
+        taskManager.removeAllEpics();
+        httpTaskServer.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        httpTaskServer.stop(0);
+    }
+
+    @Test
+    public void testSearchFromHttpServer() throws IOException, InterruptedException {
+        Task task = new Task("Сходить в магазин", "Сходить в магнит и купить хлеб с маслом", State.NEW);
+        Epic epic = new Epic("Дела по хозяйству", "Разные дела по дому");
+        taskManager.createTask(task);
+        taskManager.createEpic(epic);
+        SubTask subTask = new SubTask(epic.getId(), "Посуда", "Помыть посуду и купить губки", State.NEW);
+        taskManager.createSubTask(subTask);
+
+        HttpResponse<String> response = get("/search?q=" + URLEncoder.encode("купить", StandardCharsets.UTF_8));
+
+        assertEquals(200, response.statusCode());
+        List<Task> found = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(List.of(task.getId(), subTask.getId()).stream().sorted().collect(Collectors.toList()),
+                found.stream().map(Task::getId).sorted().collect(Collectors.toList()));
+
+        HttpResponse<String> limited = get("/search?q=" + URLEncoder.encode("посуда", StandardCharsets.UTF_8)
+                + "&limit=1");
+        List<Task> limitedFound = gson.fromJson(limited.body(), new TaskListTypeToken().getType());
+        assertEquals(List.of(subTask.getId()), limitedFound.stream().map(Task::getId).collect(Collectors.toList()));
+
+        assertEquals(400, get("/search").statusCode());
+        assertEquals(400, get("/search?q=x&limit=0").statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder().GET().uri(URI.create("http://localhost:8080" + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -187,6 +187,70 @@ public class HttpTaskManagerTasksTest {
         assertEquals(tasksFromJson, tasksFromManager);
     }
 
+    @Test
+    public void testGetTasksByState() throws IOException, InterruptedException {
+        Task firstTask = new Task("First task", "Description first task",
+                State.NEW, LocalDateTime.now(), 10L);
+        Task secondTask = new Task("Second task", "Description second task",
+                State.IN_PROGRESS, LocalDateTime.now().plusHours(1), 10L);
+
+        taskManager.createTask(firstTask);
+        taskManager.createTask(secondTask);
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:8080/tasks?state=in_progress");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET().uri(uri).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        List<Task> tasksFromJson = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(secondTask), tasksFromJson);
+
+        URI invalidUri = URI.create("http://localhost:8080/tasks?state=LATE");
+        HttpResponse<String> invalidResponse = client.send(HttpRequest.newBuilder().GET().uri(invalidUri).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, invalidResponse.statusCode());
+    }
+
+    @Test
+    public void testGetTasksPage() throws IOException, InterruptedException {
+        Task firstTask = new Task("First task", "Description first task", State.NEW);
+        Task secondTask = new Task("Second task", "Description second task", State.NEW);
+        Task thirdTask = new Task("Third task", "Description third task", State.NEW);
+
+        taskManager.createTask(firstTask);
+        taskManager.createTask(secondTask);
+        taskManager.createTask(thirdTask);
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:8080/tasks?limit=2");
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder().GET().uri(uri).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Task> firstPage = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(firstTask, secondTask), firstPage);
+
+        URI nextUri = URI.create("http://localhost:8080/tasks?limit=2&after=" + secondTask.getId());
+        HttpResponse<String> nextResponse = client.send(HttpRequest.newBuilder().GET().uri(nextUri).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Task> secondPage = gson.fromJson(nextResponse.body(), new TaskListTypeToken().getType());
+
+        assertEquals(200, nextResponse.statusCode());
+        assertEquals(List.of(thirdTask), secondPage);
+
+        for (String query : List.of("limit=0", "limit=abc", "after=-5", "limit=2&state=NEW")) {
+            URI invalidUri = URI.create("http://localhost:8080/tasks?" + query);
+            HttpResponse<String> invalidResponse = client.send(HttpRequest.newBuilder().GET().uri(invalidUri)
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(400, invalidResponse.statusCode());
+        }
+    }
+
     @Test
     public void testGetTaskById() throws IOException, InterruptedException {
         Task firstTask = new Task("First task", "Description first task",
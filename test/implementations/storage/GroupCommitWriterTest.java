@@ -0,0 +1,91 @@
+package implementations.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GroupCommitWriterTest {
+    private Path temporaryFile;
+
+    @BeforeEach
+    public void createFile() throws IOException {
+        temporaryFile = Files.createTempFile("group-commit", "log");
+    }
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(temporaryFile);
+    }
+
+    @Test
+    public void writeIsVisibleWhenAcknowledged() throws IOException {
+        GroupCommitWriter writer = new GroupCommitWriter(temporaryFile, true, FsyncPolicy.everyWrite());
+
+        writer.write("first");
+        assertEquals(List.of("first"), Files.readAllLines(temporaryFile));
+
+        writer.write("second");
+        assertEquals(List.of("first", "second"), Files.readAllLines(temporaryFile));
+
+        writer.close();
+    }
+
+    @Test
+    public void truncateEmptiesFileBetweenWrites() throws IOException {
+        GroupCommitWriter writer = new GroupCommitWriter(temporaryFile, true, FsyncPolicy.everyMillis(5));
+
+        writer.submit("first");
+        writer.truncate();
+        writer.write("second");
+        assertEquals(List.of("second"), Files.readAllLines(temporaryFile));
+
+        writer.truncate();
+        assertEquals(List.of(), Files.readAllLines(temporaryFile));
+
+        writer.write("third");
+        writer.close();
+        assertEquals(List.of("third"), Files.readAllLines(temporaryFile));
+    }
+
+    @Test
+    public void concurrentWritersAreAllPersisted() throws Exception {
+        GroupCommitWriter writer = new GroupCommitWriter(temporaryFile, true, FsyncPolicy.everyMillis(5));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        IntStream.range(0, 800).forEach(i -> futures.add(executor.submit(() -> writer.write(String.valueOf(i)))));
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        writer.close();
+
+        assertEquals(IntStream.range(0, 800).mapToObj(String::valueOf).collect(Collectors.toSet()),
+                new HashSet<>(Files.readAllLines(temporaryFile)));
+    }
+
+    @Test
+    public void truncateOnOpenWhenNotAppending() throws IOException {
+        Files.writeString(temporaryFile, "stale\n");
+        GroupCommitWriter writer = new GroupCommitWriter(temporaryFile, false, FsyncPolicy.osManaged());
+
+        writer.write("fresh");
+        writer.close();
+
+        assertEquals(List.of("fresh"), Files.readAllLines(temporaryFile));
+    }
+}
@@ -0,0 +1,56 @@
+package implementations.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HistoryLogTest {
+    private Path dataFile;
+    private HistoryLog historyLog;
+
+    @BeforeEach
+    public void createLog() throws IOException {
+        dataFile = Files.createTempFile("history", "csv");
+        historyLog = new HistoryLog(dataFile, FsyncPolicy.everyWrite());
+    }
+
+    @AfterEach
+    public void deleteLog() throws IOException {
+        historyLog.close();
+        Files.deleteIfExists(historyLog.getLogFile());
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Test
+    public void rewriteReplacesLogAndKeepsAppending() {
+        historyLog.append(1);
+        historyLog.append(2);
+        historyLog.append(1);
+
+        historyLog.rewrite(List.of(2, 1));
+        historyLog.append(3);
+
+        assertEquals(List.of(2, 1, 3), historyLog.read());
+        assertEquals(3, historyLog.size());
+        Path logFile = historyLog.getLogFile();
+        assertFalse(Files.exists(logFile.resolveSibling(logFile.getFileName() + ".tmp")));
+    }
+
+    @Test
+    public void rewriteWithNoIdsEmptiesLog() {
+        historyLog.append(1);
+
+        historyLog.rewrite(List.of());
+        historyLog.append(2);
+
+        assertEquals(List.of(2), historyLog.read());
+    }
+}
@@ -0,0 +1,79 @@
+package implementations.storage;
+
+import implementations.utility.ManagerSaveException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalCompactorTest {
+    private Path directory;
+    private Path journalFile;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal-compactor");
+        journalFile = directory.resolve("tasks.journal");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void failedCompactionIsReportedAndRetried() throws InterruptedException, IOException {
+        TaskJournal journal = new TaskJournal(journalFile, FsyncPolicy.everyWrite(), 1, Long.MAX_VALUE);
+        JournalCompactor compactor = new JournalCompactor(journalFile);
+        journal.append(TaskJournal.record(TaskJournal.PUT, "1,TASK,Task,NEW,Description,null,null"));
+        Path blockedFile = directory.resolve("tasks.journal.snapshot.tmp");
+        Files.createDirectory(blockedFile);
+
+        compactor.compact(journal);
+        awaitCompaction(compactor);
+
+        assertThrows(ManagerSaveException.class, () -> compactor.compact(journal));
+        assertTrue(Files.exists(directory.resolve("tasks.journal.sealed")));
+
+        Files.delete(blockedFile);
+        compactor.compact(journal);
+        compactor.close();
+        journal.close();
+
+        assertEquals(List.of("1,TASK,Task,NEW,Description,null,null"),
+                compactor.loadRows(List.of()));
+    }
+
+    @Test
+    public void removedEpicDropsSubTasksEvenWithoutItsRow() {
+        JournalCompactor compactor = new JournalCompactor(journalFile);
+
+        List<String> rows = compactor.loadRows(List.of(
+                TaskJournal.record(TaskJournal.PUT, "3,SUBTASK,Sub Task,NEW,Description,2,null,null"),
+                TaskJournal.record(TaskJournal.PUT, "4,SUBTASK,Other,NEW,Description,5,null,null"),
+                TaskJournal.record(TaskJournal.REMOVE, "2")));
+        compactor.close();
+
+        assertEquals(List.of("4,SUBTASK,Other,NEW,Description,5,null,null"), rows);
+    }
+
+    private static void awaitCompaction(JournalCompactor compactor) throws InterruptedException {
+        while (compactor.isRunning()) {
+            Thread.sleep(1);
+        }
+    }
+}
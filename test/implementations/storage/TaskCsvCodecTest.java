@@ -0,0 +1,107 @@
+package implementations.storage;
+
+import implementations.tasks.Epic;
+import implementations.tasks.SubTask;
+import implementations.tasks.Task;
+import implementations.utility.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskCsvCodecTest {
+    private final TaskCsvCodec codec = new TaskCsvCodec();
+
+    @Test
+    public void encodeMatchesCsvFormat() {
+        Task task = new Task(1, "Task", "Description task", State.NEW,
+                LocalDateTime.of(2024, 3, 5, 9, 7), 15L);
+        Epic epic = new Epic(2, "Epic", "Description epic");
+        SubTask subTask = new SubTask(3, 2, "Sub Task", "Description sub task", State.DONE, null, null);
+
+        assertEquals("1,TASK,Task,NEW,Description task,05.03.2024 09:07,15", encode(task));
+        assertEquals("2,EPIC,Epic,null,Description epic,null,null", encode(epic));
+        assertEquals("3,SUBTASK,Sub Task,DONE,Description sub task,2,null,null", encode(subTask));
+    }
+
+    @Test
+    public void decodeRestoresEveryField() {
+        SubTask subTask = (SubTask) codec.decode("3,SUBTASK,Полки,IN_PROGRESS,Протереть пыль,2,31.12.2023 23:59,90");
+
+        assertEquals(3, subTask.getId());
+        assertEquals(2, subTask.getEpicID());
+        assertEquals("Полки", subTask.getName());
+        assertEquals("Протереть пыль", subTask.getDescription());
+        assertEquals(State.IN_PROGRESS, subTask.getState());
+        assertEquals(LocalDateTime.of(2023, 12, 31, 23, 59), subTask.getStartTime());
+        assertEquals(90L, subTask.getDuration());
+
+        Task task = codec.decode("1,TASK,Task,NEW,Description task,null,null");
+
+        assertNull(task.getStartTime());
+        assertNull(task.getDuration());
+    }
+
+    @Test
+    public void encodeAndDecodeRoundTrip() {
+        Task task = new Task(7, "Task", "Description", State.DONE, LocalDateTime.of(1999, 1, 1, 0, 0), 0L);
+        Epic epic = new Epic(8, "Epic", "Description");
+
+        assertEquals(encode(task), encode(codec.decode(encode(task))));
+        assertEquals(encode(epic), encode(codec.decode(encode(epic))));
+    }
+
+    @Test
+    public void shortRowsAreRejected() {
+        codec.decode("3,SUBTASK,Sub Task,DONE,Description sub task,2,null,null");
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("2,EPIC,Epic"));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("1,TASK,Task,NEW"));
+    }
+
+    @Test
+    public void literalNullTextIsKeptInNameAndDescription() {
+        Task task = codec.decode("1,TASK,null,null,null,null,null");
+
+        assertEquals("null", task.getName());
+        assertEquals("null", task.getDescription());
+        assertNull(task.getState());
+        assertNull(task.getStartTime());
+        assertNull(task.getDuration());
+    }
+
+    @Test
+    public void numbersOutOfRangeAreRejected() {
+        assertThrows(NumberFormatException.class, () -> codec.decode("2147483648,TASK,Task,NEW,D,null,null"));
+        assertThrows(NumberFormatException.class,
+                () -> codec.decode("3,SUBTASK,Sub Task,DONE,D,-2147483649,null,null"));
+        assertThrows(NumberFormatException.class,
+                () -> codec.decode("1,TASK,Task,NEW,D,null,9223372036854775808"));
+        assertThrows(NumberFormatException.class,
+                () -> codec.decode("1,TASK,Task,NEW,D,null,99999999999999999999"));
+
+        assertEquals(Integer.MAX_VALUE, codec.decode("2147483647,TASK,Task,NEW,D,null,null").getId());
+        assertEquals(Integer.MIN_VALUE, codec.decode("-2147483648,TASK,Task,NEW,D,null,null").getId());
+    }
+
+    @Test
+    public void loneMinusIsNotANumber() {
+        assertThrows(NumberFormatException.class, () -> codec.decode("1,TASK,Task,NEW,D,null,-"));
+        assertThrows(NumberFormatException.class, () -> codec.decode("-,TASK,Task,NEW,D,null,null"));
+    }
+
+    @Test
+    public void datesWithWrongSeparatorsAreRejected() {
+        assertThrows(RuntimeException.class, () -> codec.decode("1,TASK,Task,NEW,D,05-03-2024 09:07,15"));
+        assertThrows(RuntimeException.class, () -> codec.decode("1,TASK,Task,NEW,D,05.03.2024T09:07,15"));
+        assertThrows(RuntimeException.class, () -> codec.decode("1,TASK,Task,NEW,D,05.03.2024 09.07,15"));
+        assertThrows(RuntimeException.class, () -> codec.decode("1,TASK,Task,NEW,D,05.03.-024 09:07,15"));
+    }
+
+    private String encode(Task task) {
+        return codec.encode(task, new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,32 @@
+package implementations.tasks;
+
+import implementations.utility.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpicTimeStatisticsTest {
+    @Test
+    public void keepsEqualStartsUntilTheLastOneIsRemoved() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 0);
+        EpicTimeStatistics statistics = new EpicTimeStatistics();
+        statistics.add(new SubTask(1, 0, "First", "Description", State.NEW, start, 60L));
+        statistics.add(new SubTask(2, 0, "Second", "Description", State.NEW, start, 30L));
+        statistics.add(new SubTask(3, 0, "Third", "Description", State.NEW, start.plusHours(2), 10L));
+
+        statistics.remove(1);
+
+        assertEquals(start, statistics.getStartTime());
+        assertEquals(start.plusHours(2).plusMinutes(10), statistics.getEndTime());
+        assertEquals(40L, statistics.getDuration());
+
+        statistics.remove(2);
+        statistics.remove(3);
+
+        assertTrue(statistics.isEmpty());
+        assertNull(statistics.getStartTime());
+        assertNull(statistics.getDuration());
+    }
+}
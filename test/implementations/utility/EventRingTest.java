@@ -0,0 +1,120 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+    @Test
+    void deliversEventsInPublicationOrderFromManyProducers() throws InterruptedException {
+        EventRing<Integer> ring = new EventRing<>(1 << 16);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(40_000);
+        ring.subscribe(event -> {
+            received.add(event);
+            done.countDown();
+        });
+
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < 4; producer++) {
+            int offset = producer * 10_000;
+            producers.add(new Thread(() -> IntStream.range(offset, offset + 10_000).forEach(ring::publish)));
+        }
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(40_000, ring.getPublished());
+        assertEquals(IntStream.range(0, 40_000).boxed().collect(Collectors.toSet()), Set.copyOf(received));
+        for (int producer = 0; producer < 4; producer++) {
+            int offset = producer * 10_000;
+            assertEquals(IntStream.range(offset, offset + 10_000).boxed().collect(Collectors.toList()),
+                    received.stream().filter(event -> event >= offset && event < offset + 10_000)
+                            .collect(Collectors.toList()));
+        }
+        ring.close();
+    }
+
+    @Test
+    void slowListenerLosesEventsInsteadOfBlockingPublishers() throws InterruptedException {
+        EventRing<Integer> ring = new EventRing<>(8);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        AtomicLong lost = new AtomicLong();
+        EventRing.Subscription<Integer> subscription = ring.subscribe(new EventRing.Listener<>() {
+            @Override
+            public void onEvent(Integer event) {
+                if (event == 0) {
+                    blocked.countDown();
+                    await(release);
+                }
+                received.add(event);
+            }
+
+            @Override
+            public void onLost(long count) {
+                lost.addAndGet(count);
+            }
+        });
+
+        ring.publish(0);
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        IntStream.range(1, 100).forEach(ring::publish);
+        release.countDown();
+
+        waitUntilCaughtUp(subscription);
+        assertEquals(100, received.size() + lost.get());
+        assertEquals(List.of(92, 93, 94, 95, 96, 97, 98, 99), received.subList(received.size() - 8, received.size()));
+        assertTrue(lost.get() > 0);
+        subscription.close();
+    }
+
+    @Test
+    void failingListenerKeepsReceivingAndClosedListenerStops() throws InterruptedException {
+        EventRing<Integer> ring = new EventRing<>(16);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        EventRing.Subscription<Integer> subscription = ring.subscribe(event -> {
+            received.add(event);
+            if (event == 1) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+
+        IntStream.range(0, 3).forEach(ring::publish);
+        waitUntilCaughtUp(subscription);
+        subscription.close();
+        ring.publish(3);
+
+        assertEquals(List.of(0, 1, 2), received);
+        assertThrows(IllegalArgumentException.class, () -> new EventRing<Integer>(12));
+    }
+
+    private static void waitUntilCaughtUp(EventRing.Subscription<?> subscription) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (subscription.getLag() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, subscription.getLag());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+    @Test
+    void allocatesSequentiallyWithinOneThread() {
+        IdAllocator allocator = new IdAllocator(10, highWaterMark -> { });
+
+        for (int expected = 10; expected < 10 + IdAllocator.BLOCK_SIZE * 3; expected++) {
+            assertEquals(expected, allocator.allocate());
+        }
+    }
+
+    @Test
+    void reservesAheadOfEveryAllocatedId() {
+        List<Integer> reservations = new ArrayList<>();
+        IdAllocator allocator = new IdAllocator(0, reservations::add);
+
+        int last = -1;
+        for (int i = 0; i < IdAllocator.RESERVATION_SIZE * 3; i++) {
+            last = allocator.allocate();
+            assertTrue(last < allocator.getHighWaterMark());
+        }
+
+        assertEquals(reservations.get(reservations.size() - 1), allocator.getHighWaterMark());
+        assertTrue(reservations.size() <= 4, "Резервирование должно происходить редко");
+        assertTrue(last < reservations.get(reservations.size() - 1));
+    }
+
+    @Test
+    void advancePastSkipsLoadedIds() {
+        IdAllocator allocator = new IdAllocator(0, highWaterMark -> { });
+
+        assertEquals(0, allocator.allocate());
+        allocator.advancePast(100);
+        allocator.advancePast(50);
+
+        assertEquals(101, allocator.allocate());
+    }
+
+    @Test
+    void threadsNeverReceiveTheSameId() throws InterruptedException {
+        IdAllocator allocator = new IdAllocator(0, highWaterMark -> { });
+        int threads = 4;
+        int perThread = 10_000;
+        List<Set<Integer>> allocated = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Set<Integer> ids = new HashSet<>();
+            allocated.add(ids);
+            workers.add(new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    ids.add(allocator.allocate());
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Integer> all = new HashSet<>();
+        allocated.forEach(all::addAll);
+        assertEquals(threads * perThread, all.size());
+    }
+}
@@ -0,0 +1,58 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectHashMapTest {
+    @Test
+    void putReplacesAndRemoveReturnsPreviousValue() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertNull(map.put(-7, "minus seven"));
+
+        assertEquals("uno", map.get(1));
+        assertTrue(map.containsKey(-7));
+        assertEquals(2, map.size());
+
+        assertEquals("uno", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(List.of("minus seven"), map.values());
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(-7));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(13);
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            int key = random.nextInt(5_000) * (random.nextBoolean() ? 1 : 65_536);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, operation), map.put(key, operation));
+            }
+            assertEquals(expected.get(key), map.get(key));
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), Arrays.stream(map.keys()).boxed().collect(Collectors.toSet()));
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+}
@@ -0,0 +1,191 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+    @Test
+    void overlapsAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, "first");
+
+        assertNull(tree.findOverlap(20, 30));
+        assertNull(tree.findOverlap(0, 10));
+        assertEquals("first", tree.findOverlap(19, 21));
+        assertEquals("first", tree.findOverlap(12, 12));
+        assertEquals(List.of("first"), tree.findAllOverlaps(0, 11));
+    }
+
+    @Test
+    void valuesAreOrderedByStart() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.put(3, 30, 35, 3);
+        tree.put(1, 10, 15, 1);
+        tree.put(2, 20, 25, 2);
+        tree.put(4, 20, 20, 4);
+
+        assertEquals(List.of(1, 2, 4, 3), tree.values());
+
+        assertEquals(2, tree.remove(2));
+        assertNull(tree.remove(2));
+        tree.put(1, 40, 45, 1);
+
+        assertEquals(List.of(4, 3, 1), tree.values());
+        assertEquals(3, tree.size());
+        assertFalse(tree.contains(2));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        long[][] intervals = new long[500][];
+
+        for (int id = 0; id < intervals.length; id++) {
+            long start = random.nextInt(10_000);
+            intervals[id] = new long[]{start, start + random.nextInt(50)};
+            tree.put(id, intervals[id][0], intervals[id][1], id);
+        }
+        for (int id = 0; id < intervals.length; id += 3) {
+            tree.remove(id);
+            intervals[id] = null;
+        }
+
+        for (int query = 0; query < 1_000; query++) {
+            long start = random.nextInt(10_000);
+            long end = start + random.nextInt(100);
+            List<Integer> expected = new ArrayList<>();
+            IntStream.range(0, intervals.length)
+                    .filter(id -> intervals[id] != null && intervals[id][0] < end && start < intervals[id][1])
+                    .boxed()
+                    .sorted((first, second) -> intervals[first][0] != intervals[second][0]
+                            ? Long.compare(intervals[first][0], intervals[second][0])
+                            : Integer.compare(first, second))
+                    .forEach(expected::add);
+
+            assertEquals(expected, tree.findAllOverlaps(start, end));
+            assertEquals(expected.isEmpty(), tree.findOverlap(start, end) == null);
+        }
+        assertEquals(IntStream.range(0, intervals.length).filter(id -> intervals[id] != null).count(),
+                tree.values().stream().collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void removeIfKeepsSurvivorsSearchable() {
+        Random random = new Random(11);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        for (int id = 0; id < 400; id++) {
+            long start = random.nextInt(10_000);
+            tree.put(id, start, start + random.nextInt(50), id);
+        }
+        List<Integer> expected = tree.values().stream().filter(id -> id % 3 != 0).collect(Collectors.toList());
+
+        assertEquals(134, tree.removeIf(id -> id % 3 == 0));
+        assertEquals(0, tree.removeIf(id -> id % 3 == 0));
+
+        assertEquals(expected, tree.values());
+        assertEquals(expected.size(), tree.size());
+        assertFalse(tree.contains(3));
+        assertEquals(expected, tree.findAllOverlaps(Long.MIN_VALUE, Long.MAX_VALUE));
+
+        tree.put(3, 20_000, 20_010, 3);
+        assertEquals(3, tree.findOverlap(20_005, 20_006));
+        assertEquals(expected.size(), tree.removeIf(id -> id != 3));
+        assertEquals(List.of(3), tree.values());
+        assertEquals(1, tree.removeIf(id -> true));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void gapsAreClippedToWindowAndFilteredByLength() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, 1);
+        tree.put(2, 15, 30, 2);
+        tree.put(3, 40, 45, 3);
+        tree.put(4, 47, 50, 4);
+
+        assertEquals(List.of("0-10", "30-40", "45-47", "50-60"), format(tree.findGaps(0, 60, 0)));
+        assertEquals(List.of("30-40", "50-60"), format(tree.findGaps(12, 60, 5)));
+        assertEquals(List.of("30-35"), format(tree.findGaps(25, 35, 1)));
+        assertEquals(List.of(), format(tree.findGaps(16, 28, 1)));
+        assertEquals(List.of("0-100"), format(new IntervalTree<Integer>().findGaps(0, 100, 100)));
+    }
+
+    @Test
+    void gapsMatchBruteForceOnRandomIntervals() {
+        Random random = new Random(7);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        boolean[] busy = new boolean[5_000];
+
+        for (int id = 0; id < 300; id++) {
+            int start = random.nextInt(busy.length - 40);
+            int end = start + random.nextInt(40);
+            tree.put(id, start, end, id);
+            for (int minute = start; minute < end; minute++) {
+                busy[minute] = true;
+            }
+        }
+
+        for (int query = 0; query < 500; query++) {
+            int from = random.nextInt(busy.length);
+            int to = from + random.nextInt(busy.length - from + 1);
+            int minLength = random.nextInt(30);
+            List<String> expected = new ArrayList<>();
+            int gapStart = from;
+            for (int minute = from; minute <= to; minute++) {
+                if (minute == to || busy[minute]) {
+                    if (minute - gapStart >= Math.max(1, minLength)) {
+                        expected.add(gapStart + "-" + minute);
+                    }
+                    gapStart = minute + 1;
+                }
+            }
+
+            assertEquals(expected, format(tree.findGaps(from, to, minLength)));
+        }
+    }
+
+    private static List<String> format(List<long[]> gaps) {
+        return gaps.stream().map(gap -> gap[0] + "-" + gap[1]).collect(Collectors.toList());
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterChanges() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, 1);
+        tree.put(2, 30, 40, 2);
+
+        IntervalTree<Integer> snapshot = tree.snapshot();
+        tree.remove(1);
+        tree.put(2, 50, 60, 2);
+        tree.put(3, 0, 5, 3);
+
+        assertEquals(List.of(1, 2), snapshot.values());
+        assertEquals(2, snapshot.findOverlap(35, 36));
+        assertEquals(List.of(3, 2), tree.values());
+        assertNull(tree.findOverlap(35, 36));
+    }
+
+    @Test
+    void viewIsNotAffectedByLaterChanges() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        IntStream.range(0, 100).forEach(id -> tree.put(id, 100 - id, 200, id));
+
+        Collection<Integer> view = tree.view();
+        tree.remove(50);
+        tree.put(200, 0, 1, 200);
+
+        assertEquals(100, view.size());
+        assertEquals(IntStream.range(0, 100).map(id -> 99 - id).boxed().collect(Collectors.toList()),
+                new ArrayList<>(view));
+        assertFalse(new IntervalTree<Integer>().view().iterator().hasNext());
+    }
+}
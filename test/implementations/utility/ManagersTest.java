@@ -1,9 +1,17 @@
 package implementations.utility;
 
+import implementations.storage.CsvStorageEngine;
+import implementations.storage.InMemoryStorageEngine;
+import implementations.storage.JournalStorageEngine;
 import interfaces.HistoryManager;
+import interfaces.StorageEngine;
 import interfaces.TaskManager;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ManagersTest {
@@ -18,4 +26,27 @@ class ManagersTest {
         TaskManager taskManager = Managers.getDefault();
         assertNotNull(taskManager);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDefaultStorageFromConfiguration() throws IOException {
+        Path file = Files.createTempFile("data", "csv");
+        System.setProperty(Managers.STORAGE_FILE_PROPERTY, file.toString());
+        try {
+            assertTrue(Managers.getDefaultStorage() instanceof InMemoryStorageEngine);
+
+            System.setProperty(Managers.STORAGE_PROPERTY, "csv");
+            StorageEngine csvStorage = Managers.getDefaultStorage();
+            assertTrue(csvStorage instanceof CsvStorageEngine);
+            csvStorage.close();
+
+            System.setProperty(Managers.STORAGE_PROPERTY, "journal");
+            StorageEngine journalStorage = Managers.getDefaultStorage();
+            assertTrue(journalStorage instanceof JournalStorageEngine);
+            journalStorage.close();
+        } finally {
+            System.clearProperty(Managers.STORAGE_PROPERTY);
+            System.clearProperty(Managers.STORAGE_FILE_PROPERTY);
+            Files.deleteIfExists(file);
+        }
+    }
+}
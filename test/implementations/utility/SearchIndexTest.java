@@ -0,0 +1,51 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    @Test
+    void tokenizesCyrillicAndLatinCaseInsensitively() {
+        assertEquals(List.of("сходить", "в", "магазин", "купить", "елку", "tz", "6"),
+                SearchIndex.tokenize("Сходить в МАГАЗИН: купить ёлку (TZ-6)"));
+        assertEquals(List.of(), SearchIndex.tokenize(null));
+    }
+
+    @Test
+    void requiresAllTermsAndRanksNameMatchesHigher() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "Помыть посуду", "На кухне");
+        index.put(2, "Кухня", "Помыть пол на кухне");
+        index.put(3, "Пол", "Пропылесосить пол в комнате");
+
+        assertEquals(List.of(2), index.search("кухня", 10));
+        assertEquals(List.of(1, 2), index.search("помыть кухне", 10));
+        assertEquals(List.of(3, 2), index.search("пол", 10));
+        assertEquals(List.of(3), index.search("пол", 1));
+        assertEquals(List.of(), index.search("пол гараж", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflected() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "Сходить в магазин", "Купить хлеб");
+        index.put(2, "Практикум", "Доделать спринт");
+
+        index.put(1, "Сходить в аптеку", "Купить лекарства");
+        index.remove(2);
+        index.remove(42);
+
+        assertEquals(List.of(), index.search("хлеб", 10));
+        assertEquals(List.of(1), index.search("аптеку", 10));
+        assertEquals(List.of(), index.search("спринт", 10));
+        assertEquals(1, index.size());
+
+        index.clear();
+
+        assertEquals(List.of(), index.search("аптеку", 10));
+    }
+}
@@ -0,0 +1,45 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateIndexTest {
+    @Test
+    void putMovesIdsBetweenStates() {
+        StateIndex index = new StateIndex();
+
+        index.put(1, State.NEW);
+        index.put(2, State.NEW);
+        index.put(3, State.DONE);
+        index.put(1, State.IN_PROGRESS);
+        index.put(2, State.NEW);
+
+        assertEquals(List.of(2), new ArrayList<>(index.get(State.NEW)));
+        assertEquals(Set.of(1), index.get(State.IN_PROGRESS));
+        assertEquals(Set.of(3), index.get(State.DONE));
+    }
+
+    @Test
+    void removeAndNullStateDropTheId() {
+        StateIndex index = new StateIndex();
+        index.put(1, State.NEW);
+        index.put(2, State.DONE);
+
+        index.remove(1);
+        index.put(2, null);
+        index.remove(7);
+
+        assertEquals(0, index.size(State.NEW));
+        assertEquals(0, index.size(State.DONE));
+
+        index.put(3, State.DONE);
+        index.clear();
+
+        assertTrue(index.get(State.DONE).isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package implementations.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedIntMapTest {
+    @Test
+    void snapshotDoesNotSeeLaterWrites() {
+        VersionedIntMap<String> map = new VersionedIntMap<>();
+        map.put(1, "one");
+        map.put(40, "forty");
+
+        VersionedIntMap<String> snapshot = map.snapshot();
+        map.put(1, "uno");
+        map.remove(40);
+        map.put(-1, "minus one");
+        snapshot.put(2, "two");
+
+        assertEquals("one", snapshot.get(1));
+        assertEquals("forty", snapshot.get(40));
+        assertNull(snapshot.get(-1));
+        assertEquals(List.of("one", "two", "forty"), snapshot.values());
+
+        assertEquals("uno", map.get(1));
+        assertNull(map.get(2));
+        assertEquals(List.of(1, -1), Arrays.stream(map.keys()).boxed().collect(Collectors.toList()));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapAcrossSnapshots() {
+        Random random = new Random(21);
+        VersionedIntMap<Integer> map = new VersionedIntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        List<VersionedIntMap<Integer>> snapshots = new ArrayList<>();
+        List<Map<Integer, Integer>> expectedSnapshots = new ArrayList<>();
+
+        for (int operation = 0; operation < 100_000; operation++) {
+            int key = random.nextInt(10) == 0 ? random.nextInt() : random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, operation), map.put(key, operation));
+            }
+            assertEquals(expected.size(), map.size());
+            if (operation % 10_000 == 0) {
+                snapshots.add(map.snapshot());
+                expectedSnapshots.add(new HashMap<>(expected));
+            }
+        }
+
+        assertEquals(expected.keySet(), Arrays.stream(map.keys()).boxed().collect(Collectors.toSet()));
+        for (int i = 0; i < snapshots.size(); i++) {
+            VersionedIntMap<Integer> snapshot = snapshots.get(i);
+            Map<Integer, Integer> expectedSnapshot = expectedSnapshots.get(i);
+            assertEquals(expectedSnapshot.size(), snapshot.size());
+            expectedSnapshot.forEach((key, value) -> assertEquals(value, snapshot.get(key)));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+    }
+
+    @Test
+    void valuesFromReturnsPagesInKeyOrder() {
+        Random random = new Random(7);
+        VersionedIntMap<Integer> map = new VersionedIntMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(1_000_000);
+            map.put(key, key);
+            expected.put(key, key);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            int from = random.nextInt(1_100_000);
+            int limit = random.nextInt(50);
+            assertEquals(expected.tailMap(from, true).values().stream().limit(limit).collect(Collectors.toList()),
+                    map.valuesFrom(from, limit));
+        }
+        assertEquals(List.of(), map.valuesFrom(Integer.MIN_VALUE, 10));
+        assertEquals(List.of(), map.valuesFrom(0, 0));
+        assertEquals(List.of(), new VersionedIntMap<Integer>().valuesFrom(0, 10));
+    }
+
+    @Test
+    void viewIsFrozenAtCreation() {
+        VersionedIntMap<Integer> map = new VersionedIntMap<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int key = 0; key < 5_000; key += 7) {
+            map.put(key, key);
+            expected.add(key);
+        }
+
+        Collection<Integer> view = map.view();
+        map.remove(0);
+        map.put(3, 3);
+        map.put(1 << 20, 1 << 20);
+
+        assertEquals(expected.size(), view.size());
+        assertEquals(expected, new ArrayList<>(view));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+        assertFalse(new VersionedIntMap<Integer>().view().iterator().hasNext());
+    }
+}